@@ -0,0 +1,78 @@
+package benchmarks;
+
+import engine.MoveBuffer;
+import engine.MoveGenerator;
+import engine.Position;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * Positions every benchmark runs over, the same in every run: the start
+ * position followed by positions reached by random play from a fixed
+ * seed, openings, middle games and endings alike. Every position has at
+ * least one legal move.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkPositions {
+
+    /** Number of positions.*/
+    public static final int COUNT = 64;
+
+    /** Seed of the random play.*/
+    private static final long SEED = 0x436865636B657273L;
+
+    /** Most plies played into a position.*/
+    private static final int MAX_PLIES = 60;
+
+    /** The positions, index 0 is the start position.*/
+    private Position[] positions;
+
+    /**
+     * Create the positions.
+     */
+    @Setup
+    public void setUp(){
+        this.positions = create();
+    }
+
+    /**
+     * Create the benchmark positions.
+     * @return COUNT positions with at least one legal move each.
+     */
+    public static Position[] create(){
+        Position[] positions = new Position[COUNT];
+        positions[0] = Position.startPosition();
+        Random random = new Random(SEED);
+        MoveBuffer buffer = new MoveBuffer(1);
+        int created = 1;
+        while(created < COUNT){
+            Position position = Position.startPosition();
+            int plies = 1 + random.nextInt(MAX_PLIES);
+            for(int ply = 0; ply < plies; ply++){
+                int moveCount = MoveGenerator.generate(position, buffer, 0);
+                if(moveCount == 0){
+                    break;
+                }
+                position.makeMove(buffer.get(0, random.nextInt(moveCount)));
+            }
+            if(MoveGenerator.generate(position, buffer, 0) > 0){
+                Position copy = new Position();
+                copy.setPieces(position.getWhite(), position.getBlack(), position.getKings(), position.getSideToMove());
+                positions[created++] = copy;
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Retrieve a position.
+     * @param index 0 to COUNT - 1.
+     * @return the position, shared, restore it after making moves.
+     */
+    public Position get(int index){
+        return this.positions[index];
+    }
+}
@@ -0,0 +1,32 @@
+package benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler, which reports the
+ * collections and the bytes allocated per operation (gc.alloc.rate.norm).
+ * Takes the usual JMH command line, e.g. a benchmark regex or -f 1.
+ */
+public class BenchmarkRunner {
+
+    /**
+     * Run the benchmarks.
+     * Usage: java -jar benchmarks.jar [JMH options] [regex]
+     * @param args command line arguments.
+     * @throws RunnerException if a benchmark fails.
+     * @throws CommandLineOptionException if the command line is invalid.
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException{
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,105 @@
+package benchmarks;
+
+import book.OpeningBook;
+import computer.EasyComputerPlayer;
+import computer.IComputerPlayer;
+import computer.MediumComputerPlayer;
+import computer.RandomComputerPlayer;
+import engine.Position;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The whole AComputerPlayer.makeMove pipeline, move generation,
+ * the book lookup and the player's own choice, per position.
+ * The book is the empty book so every move is chosen by the player.
+ * Fresh players are created outside the timed region before every
+ * invocation, so no invocation profits from the table or tree a
+ * player kept from the last one. The hard player thinks for a fixed
+ * time and is left out.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ComputerPlayerBenchmark {
+
+    /** Player benchmarked.*/
+    @Param({"RANDOM", "EASY", "MEDIUM"})
+    public String player;
+
+    /** Private copies of the benchmark positions.*/
+    private Position[] positions;
+
+    /** A player for each side.*/
+    private IComputerPlayer[] players;
+
+    /**
+     * Create the positions.
+     */
+    @Setup
+    public void setUp(){
+        this.positions = BenchmarkPositions.create();
+    }
+
+    /**
+     * Create fresh players, untimed.
+     */
+    @Setup(Level.Invocation)
+    public void createPlayers(){
+        this.players = new IComputerPlayer[]{create(Position.WHITE), create(Position.BLACK)};
+        for(IComputerPlayer computerPlayer : this.players){
+            computerPlayer.setOpeningBook(OpeningBook.none());
+        }
+    }
+
+    /**
+     * Release the threads of the players, untimed.
+     */
+    @TearDown(Level.Invocation)
+    public void closePlayers(){
+        for(IComputerPlayer computerPlayer : this.players){
+            computerPlayer.close();
+        }
+    }
+
+    /**
+     * Create the benchmarked player.
+     * @param side Position.WHITE or Position.BLACK.
+     * @return new player.
+     */
+    private IComputerPlayer create(int side){
+        if("RANDOM".equals(this.player)){
+            return new RandomComputerPlayer(side);
+        }
+        if("EASY".equals(this.player)){
+            return new EasyComputerPlayer(side);
+        }
+        return new MediumComputerPlayer(side);
+    }
+
+    /**
+     * Let the player to move choose a move in each position.
+     * @return sum of the chosen moves, consumed by JMH.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkPositions.COUNT)
+    public long makeMove(){
+        long moves = 0;
+        for(int i = 0; i < BenchmarkPositions.COUNT; i++){
+            Position position = this.positions[i];
+            moves += this.players[position.getSideToMove()].makeMove(position);
+        }
+        return moves;
+    }
+}
@@ -0,0 +1,114 @@
+package benchmarks;
+
+import engine.MoveBuffer;
+import engine.MoveGenerator;
+import engine.Moves;
+import engine.Position;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applying a move the way the game applies a clicked move, the path
+ * CheckerGame.determineMove and moveChecker used to take: find the
+ * legal move from its start and landing square, make it, and decide if
+ * the game is over. Every move is taken back so the positions are the
+ * same for every invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MoveApplicationBenchmark {
+
+    /** Buffer the moves are generated into.*/
+    private final MoveBuffer buffer = new MoveBuffer(2);
+
+    /** Private copies of the benchmark positions.*/
+    private Position[] positions;
+
+    /** Start square of the move played in each position.*/
+    private int[] from;
+
+    /** Landing square of the move played in each position.*/
+    private int[] to;
+
+    /**
+     * Copy the positions and pick the last legal move of each.
+     */
+    @Setup
+    public void setUp(){
+        this.positions = BenchmarkPositions.create();
+        this.from = new int[BenchmarkPositions.COUNT];
+        this.to = new int[BenchmarkPositions.COUNT];
+        for(int i = 0; i < BenchmarkPositions.COUNT; i++){
+            int moveCount = MoveGenerator.generate(this.positions[i], this.buffer, 0);
+            long move = this.buffer.get(0, moveCount - 1);
+            this.from[i] = Moves.from(move);
+            this.to[i] = Moves.to(move);
+        }
+    }
+
+    /**
+     * Find each clicked move among the legal moves, make and take it back.
+     * @return sum of the hashes after the moves, consumed by JMH.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkPositions.COUNT)
+    public long findAndMakeMove(){
+        long hashes = 0;
+        for(int i = 0; i < BenchmarkPositions.COUNT; i++){
+            Position position = this.positions[i];
+            long move = findLegalMove(position, this.from[i], this.to[i]);
+            position.makeMove(move);
+            hashes += position.getHash();
+            position.unmakeMove();
+        }
+        return hashes;
+    }
+
+    /**
+     * Make each move, decide if the side now to move has lost, the
+     * check CheckerGame.isWinner and the following move generation do.
+     * @return number of finished games, consumed by JMH.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkPositions.COUNT)
+    public int isWinner(){
+        int finished = 0;
+        for(int i = 0; i < BenchmarkPositions.COUNT; i++){
+            Position position = this.positions[i];
+            position.makeMove(findLegalMove(position, this.from[i], this.to[i]));
+            if(position.pieceCount(position.getSideToMove()) == 0
+                    || MoveGenerator.generate(position, this.buffer, 1) == 0){
+                finished++;
+            }
+            position.unmakeMove();
+        }
+        return finished;
+    }
+
+    /**
+     * Find the legal move with a start and landing square.
+     * @param position position to move in.
+     * @param from start square.
+     * @param to landing square.
+     * @return packed move, or Moves.NO_MOVE.
+     */
+    private long findLegalMove(Position position, int from, int to){
+        int moveCount = MoveGenerator.generate(position, this.buffer, 0);
+        for(int i = 0; i < moveCount; i++){
+            long move = this.buffer.get(0, i);
+            if(Moves.from(move) == from && Moves.to(move) == to){
+                return move;
+            }
+        }
+        return Moves.NO_MOVE;
+    }
+}
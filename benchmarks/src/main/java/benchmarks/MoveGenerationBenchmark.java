@@ -0,0 +1,56 @@
+package benchmarks;
+
+import engine.MoveBuffer;
+import engine.MoveGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Legal move generation, the work CheckerGame.jumpAvailable and
+ * moveAvailable used to do, timed per position.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MoveGenerationBenchmark {
+
+    /** Buffer the moves are generated into.*/
+    private final MoveBuffer buffer = new MoveBuffer(1);
+
+    /**
+     * Generate every legal move of each position.
+     * @param positions the benchmark positions.
+     * @return total number of moves, consumed by JMH.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkPositions.COUNT)
+    public int generate(BenchmarkPositions positions){
+        int moves = 0;
+        for(int i = 0; i < BenchmarkPositions.COUNT; i++){
+            moves += MoveGenerator.generate(positions.get(i), this.buffer, 0);
+        }
+        return moves;
+    }
+
+    /**
+     * Generate only the jumps of each position.
+     * @param positions the benchmark positions.
+     * @return total number of jumps, consumed by JMH.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkPositions.COUNT)
+    public int generateJumps(BenchmarkPositions positions){
+        int moves = 0;
+        for(int i = 0; i < BenchmarkPositions.COUNT; i++){
+            moves += MoveGenerator.generateJumps(positions.get(i), this.buffer, 0);
+        }
+        return moves;
+    }
+}
@@ -0,0 +1,150 @@
+package benchmarks;
+
+import engine.MoveBuffer;
+import engine.MoveGenerator;
+import engine.Position;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import search.Evaluator;
+import search.Search;
+import search.SearchConfig;
+import search.TranspositionTable;
+import tablebase.Tablebase;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluation and fixed depth search. Every position is searched by a
+ * fresh search with a table of its own, prepared outside the timed
+ * region before each invocation, so each search does the same work
+ * and clearing the table is not measured. No tablebase is probed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchBenchmark {
+
+    /** Size of the transposition table of each position, in megabytes.*/
+    private static final int TABLE_SIZE_MB = 1;
+
+    /** Plies searched.*/
+    @Param({"4", "8"})
+    public int depth;
+
+    /** Private copies of the benchmark positions.*/
+    private Position[] positions;
+
+    /** Evaluator tracking moves incrementally.*/
+    private final Evaluator evaluator = new Evaluator();
+
+    /** Buffer the moves are generated into.*/
+    private final MoveBuffer buffer = new MoveBuffer(1);
+
+    /**
+     * Create the positions.
+     */
+    @Setup
+    public void setUp(){
+        this.positions = BenchmarkPositions.create();
+    }
+
+    /**
+     * Evaluate each position from scratch.
+     * @return sum of the scores, consumed by JMH.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkPositions.COUNT)
+    public int evaluate(){
+        int scores = 0;
+        for(int i = 0; i < BenchmarkPositions.COUNT; i++){
+            scores += Evaluator.evaluate(this.positions[i]);
+        }
+        return scores;
+    }
+
+    /**
+     * Make each legal move through the incremental evaluator, score and take it back.
+     * @return sum of the scores, consumed by JMH.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkPositions.COUNT)
+    public int evaluateIncrementally(){
+        int scores = 0;
+        for(int i = 0; i < BenchmarkPositions.COUNT; i++){
+            Position position = this.positions[i];
+            this.evaluator.reset(position);
+            int moveCount = MoveGenerator.generate(position, this.buffer, 0);
+            for(int j = 0; j < moveCount; j++){
+                this.evaluator.makeMove(position, this.buffer.get(0, j));
+                scores += this.evaluator.score(position);
+                this.evaluator.unmakeMove(position);
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Search each position to the fixed depth.
+     * @param searches search of each position, with an empty table.
+     * @return total nodes searched, consumed by JMH.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkPositions.COUNT)
+    public long search(Searches searches){
+        long nodes = 0;
+        for(int i = 0; i < BenchmarkPositions.COUNT; i++){
+            Search search = searches.searches[i];
+            search.search(this.positions[i], this.depth);
+            nodes += search.getNodes();
+        }
+        return nodes;
+    }
+
+    /**
+     * A search and table for each benchmark position, both made new
+     * before every invocation of the search benchmark.
+     */
+    @State(Scope.Thread)
+    public static class Searches {
+
+        /** Table of each position.*/
+        private final TranspositionTable[] tables = new TranspositionTable[BenchmarkPositions.COUNT];
+
+        /** Search of each position, using its table.*/
+        private final Search[] searches = new Search[BenchmarkPositions.COUNT];
+
+        /** Configuration of the searches, without a tablebase.*/
+        private final SearchConfig config = SearchConfig.defaults();
+
+        /**
+         * Create the tables.
+         */
+        @Setup
+        public void setUp(){
+            this.config.setTablebase(Tablebase.none());
+            for(int i = 0; i < BenchmarkPositions.COUNT; i++){
+                this.tables[i] = new TranspositionTable(TABLE_SIZE_MB);
+            }
+        }
+
+        /**
+         * Empty every table and create searches without move
+         * statistics from earlier invocations, untimed.
+         */
+        @Setup(Level.Invocation)
+        public void prepare(){
+            for(int i = 0; i < BenchmarkPositions.COUNT; i++){
+                this.tables[i].clear();
+                this.searches[i] = new Search(this.tables[i], 0, this.config);
+            }
+        }
+    }
+}
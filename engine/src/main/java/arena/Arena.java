@@ -0,0 +1,399 @@
+package arena;
+
+import book.GameRecord;
+import computer.IComputerPlayer;
+import engine.DaemonThreadFactory;
+import engine.MoveBuffer;
+import engine.MoveGenerator;
+import engine.Moves;
+import engine.Position;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Headless match between two computer player configurations, to tell
+ * if a change makes a player stronger. Games are played in pairs from
+ * the balanced openings, each opening once with either player white,
+ * on a thread pool with every game independent of the others. After
+ * every game the SPRT is updated and the match stops once it decides.
+ * The result is the score of the tested player and its Elo difference
+ * with 95% error bars.
+ * <p>
+ * A game is lost by the side without a legal move, and by a player
+ * returning a move that is not legal. It is drawn by the third
+ * repetition of a position, after NO_PROGRESS_PLIES plies without a
+ * capture or a man moving, or after MAX_PLIES plies. The games may be
+ * written as GameRecord lines, e.g. to build an opening book from.
+ */
+public final class Arena {
+
+    /** Largest number of games by default.*/
+    public static final int DEFAULT_GAMES = 1000;
+
+    /** Elo difference of H0 by default.*/
+    public static final double DEFAULT_ELO0 = 0;
+
+    /** Elo difference of H1 by default.*/
+    public static final double DEFAULT_ELO1 = 10;
+
+    /** Error rate of the SPRT, alpha and beta alike.*/
+    public static final double ERROR_RATE = 0.05;
+
+    /** Plies without a capture or man move that draw a game.*/
+    static final int NO_PROGRESS_PLIES = 80;
+
+    /** Plies after which a game is drawn.*/
+    static final int MAX_PLIES = 600;
+
+    /** Number of games between progress lines.*/
+    private static final int PROGRESS_INTERVAL = 20;
+
+    /** Configuration tested.*/
+    private final IPlayerFactory tested;
+
+    /** Configuration tested against.*/
+    private final IPlayerFactory baseline;
+
+    /** Lines of moves the games start from.*/
+    private final List<long[]> openings;
+
+    /** Largest number of games.*/
+    private final int maxGames;
+
+    /** Number of games played at once.*/
+    private final int threads;
+
+    /** Test stopping the match, null to play every game.*/
+    private final Sprt sprt;
+
+    /** Writer of the game lines, null to not write them.*/
+    private BufferedWriter records;
+
+    /** Number of the next game to start.*/
+    private final AtomicInteger nextGame = new AtomicInteger();
+
+    /** Set once no more games are started.*/
+    private final AtomicBoolean stopped = new AtomicBoolean();
+
+    /** Games won by the tested configuration.*/
+    private long wins;
+
+    /** Games drawn.*/
+    private long draws;
+
+    /** Games lost by the tested configuration.*/
+    private long losses;
+
+    /** SPRT decision, 1 for H1, -1 for H0, 0 if undecided.*/
+    private int decision;
+
+    /**
+     * Create a match.
+     * @param tested configuration tested.
+     * @param baseline configuration tested against.
+     * @param openings lines of moves the games start from, at least one.
+     * @param maxGames largest number of games.
+     * @param threads number of games played at once.
+     * @param sprt test stopping the match, null to play every game.
+     */
+    public Arena(IPlayerFactory tested, IPlayerFactory baseline, List<long[]> openings,
+                 int maxGames, int threads, Sprt sprt){
+        if(openings.isEmpty()){
+            throw new IllegalArgumentException("No openings");
+        }
+        this.tested = tested;
+        this.baseline = baseline;
+        this.openings = openings;
+        this.maxGames = maxGames;
+        this.threads = Math.max(1, threads);
+        this.sprt = sprt;
+    }
+
+    /**
+     * Play a match and print the results.
+     * Usage: Arena tested baseline [games=N] [threads=N] [sprt=elo0,elo1|off] [plies=N] [records=file]
+     * Players are written as read by PlayerSpec.parse.
+     * @param args command line arguments.
+     * @throws Exception if the match fails.
+     */
+    public static void main(String[] args) throws Exception{
+        if(args.length < 2){
+            System.err.println("Usage: Arena tested baseline [games=N] [threads=N]"
+                    + " [sprt=elo0,elo1|off] [plies=N] [records=file]");
+            System.exit(1);
+        }
+        int games = DEFAULT_GAMES;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int plies = Openings.DEFAULT_PLIES;
+        Sprt sprt = new Sprt(DEFAULT_ELO0, DEFAULT_ELO1, ERROR_RATE, ERROR_RATE);
+        Path records = null;
+        for(int i = 2; i < args.length; i++){
+            int split = args[i].indexOf('=');
+            String key = split < 0 ? args[i] : args[i].substring(0, split);
+            String value = split < 0 ? "" : args[i].substring(split + 1);
+            switch(key){
+                case "games":
+                    games = Integer.parseInt(value);
+                    break;
+                case "threads":
+                    threads = Integer.parseInt(value);
+                    break;
+                case "plies":
+                    plies = Integer.parseInt(value);
+                    break;
+                case "records":
+                    records = Paths.get(value);
+                    break;
+                case "sprt":
+                    if(value.equals("off")){
+                        sprt = null;
+                    }else{
+                        String[] bounds = value.split(",");
+                        sprt = new Sprt(Double.parseDouble(bounds[0]), Double.parseDouble(bounds[1]), ERROR_RATE, ERROR_RATE);
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        Arena arena = new Arena(PlayerSpec.parse(args[0]), PlayerSpec.parse(args[1]),
+                Openings.balanced(plies, Openings.DEFAULT_MARGIN), games, threads, sprt);
+        arena.run(records);
+    }
+
+    /**
+     * Play the match to its end and print the results.
+     * @param recordPath file the game lines are written to, null to not write them.
+     * @throws IOException if the game lines can not be written.
+     * @throws InterruptedException if interrupted while waiting for the games.
+     */
+    public void run(Path recordPath) throws IOException, InterruptedException{
+        System.out.println(this.tested.getName() + " vs " + this.baseline.getName() + ", "
+                + this.openings.size() + " openings, " + this.maxGames + " games at most, "
+                + this.threads + " threads" + (this.sprt == null ? "" : ", " + this.sprt));
+        this.records = recordPath == null ? null : Files.newBufferedWriter(recordPath, StandardCharsets.UTF_8);
+        ExecutorService executor = Executors.newFixedThreadPool(this.threads, new DaemonThreadFactory("arena"));
+        try{
+            for(int i = 0; i < this.threads; i++){
+                executor.execute(new GameRunner(this));
+            }
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        }finally{
+            executor.shutdownNow();
+            if(this.records != null){
+                this.records.close();
+            }
+        }
+        printResults(true);
+    }
+
+    /**
+     * Play games until the match is over, run by every pool thread.
+     */
+    private void playGames(){
+        MoveBuffer buffer = new MoveBuffer(1);
+        while(!this.stopped.get()){
+            int game = this.nextGame.getAndIncrement();
+            if(game >= this.maxGames){
+                return;
+            }
+            long[] opening = this.openings.get((game / 2) % this.openings.size());
+            int testedSide = game % 2 == 0 ? Position.WHITE : Position.BLACK;
+            IComputerPlayer[] players = new IComputerPlayer[2];
+            players[testedSide] = this.tested.create(testedSide);
+            players[Position.opponent(testedSide)] = this.baseline.create(Position.opponent(testedSide));
+            long[] moves = Arrays.copyOf(opening, opening.length + MAX_PLIES);
+            int[] moveCount = {opening.length};
+            int result;
+            try{
+                result = playGame(players, buffer, moves, moveCount);
+            }finally{
+                players[Position.WHITE].close();
+                players[Position.BLACK].close();
+            }
+            record(result, testedSide, moves, moveCount[0]);
+        }
+    }
+
+    /**
+     * Play a game from an opening to its end.
+     * @param players player of each side.
+     * @param buffer buffer the legal moves are generated into.
+     * @param moves the opening, followed by the moves of the game.
+     * @param moveCount holds the number of moves, updated as they are played.
+     * @return GameRecord.WHITE_WINS, DRAW or BLACK_WINS.
+     */
+    static int playGame(IComputerPlayer[] players, MoveBuffer buffer, long[] moves, int[] moveCount){
+        Position position = Position.startPosition();
+        for(int i = 0; i < moveCount[0]; i++){
+            position.makeMove(moves[i]);
+        }
+        long[] hashes = new long[NO_PROGRESS_PLIES + 1];
+        int quietPlies = 0;
+        for(int ply = 0; ply < MAX_PLIES; ply++){
+            int side = position.getSideToMove();
+            int legalCount = MoveGenerator.generate(position, buffer, 0);
+            long move = legalCount == 0 ? Moves.NO_MOVE : players[side].makeMove(new Position(position));
+            if(!buffer.contains(0, move)){
+                return side == Position.WHITE ? GameRecord.BLACK_WINS : GameRecord.WHITE_WINS;
+            }
+            boolean progress = Moves.isJump(move) || !position.isKing(Moves.from(move));
+            position.makeMove(move);
+            moves[moveCount[0]++] = move;
+            quietPlies = progress ? 0 : quietPlies + 1;
+            if(quietPlies >= NO_PROGRESS_PLIES){
+                return GameRecord.DRAW;
+            }
+            hashes[quietPlies] = position.getHash();
+            int repetitions = 0;
+            for(int i = quietPlies - 2; i >= 0; i -= 2){
+                if(hashes[i] == hashes[quietPlies]){
+                    repetitions++;
+                }
+            }
+            if(repetitions >= 2){
+                return GameRecord.DRAW;
+            }
+        }
+        return GameRecord.DRAW;
+    }
+
+    /**
+     * Count the result of a game, write its line and update the SPRT.
+     * @param result GameRecord.WHITE_WINS, DRAW or BLACK_WINS.
+     * @param testedSide side the tested configuration played.
+     * @param moves moves from the start position.
+     * @param moveCount number of moves.
+     */
+    private synchronized void record(int result, int testedSide, long[] moves, int moveCount){
+        if(result == GameRecord.DRAW){
+            this.draws++;
+        }else if((result == GameRecord.WHITE_WINS) == (testedSide == Position.WHITE)){
+            this.wins++;
+        }else{
+            this.losses++;
+        }
+        if(this.records != null){
+            try{
+                this.records.write(GameRecord.format(result, moves, moveCount));
+                this.records.newLine();
+            }catch(IOException e){
+                System.err.println("Game not written: " + e.getMessage());
+            }
+        }
+        if(this.sprt != null && this.decision == 0){
+            this.decision = this.sprt.decide(this.sprt.llr(this.wins, this.draws, this.losses));
+            if(this.decision != 0){
+                this.stopped.set(true);
+            }
+        }
+        if(getGames() % PROGRESS_INTERVAL == 0){
+            printResults(false);
+        }
+    }
+
+    /**
+     * Print the score, Elo difference and SPRT state.
+     * @param last true for the final results.
+     */
+    private synchronized void printResults(boolean last){
+        StringBuilder line = new StringBuilder(last ? "Final: " : "");
+        line.append(String.format("Games %d: +%d =%d -%d, score %.1f%%, Elo %.1f +- %.1f",
+                getGames(), this.wins, this.draws, this.losses,
+                getGames() == 0 ? 50.0 : 100 * Sprt.score(this.wins, this.draws, this.losses),
+                getElo(), Sprt.eloError(this.wins, this.draws, this.losses)));
+        if(this.sprt != null){
+            line.append(String.format(", LLR %.2f", this.sprt.llr(this.wins, this.draws, this.losses)));
+            if(this.decision != 0){
+                line.append(this.decision > 0 ? ", H1 accepted" : ", H0 accepted");
+            }
+        }
+        System.out.println(line);
+    }
+
+    /**
+     * Number of games played.
+     * @return wins, draws and losses.
+     */
+    public synchronized long getGames(){
+        return this.wins + this.draws + this.losses;
+    }
+
+    /**
+     * Games won by the tested configuration.
+     * @return number of games.
+     */
+    public synchronized long getWins(){
+        return this.wins;
+    }
+
+    /**
+     * Games drawn.
+     * @return number of games.
+     */
+    public synchronized long getDraws(){
+        return this.draws;
+    }
+
+    /**
+     * Games lost by the tested configuration.
+     * @return number of games.
+     */
+    public synchronized long getLosses(){
+        return this.losses;
+    }
+
+    /**
+     * Elo difference of the tested configuration.
+     * @return Elo difference so far.
+     */
+    public synchronized double getElo(){
+        return Sprt.elo(this.wins, this.draws, this.losses);
+    }
+
+    /**
+     * SPRT decision.
+     * @return 1 if H1 was accepted, -1 if H0 was accepted, 0 if undecided.
+     */
+    public synchronized int getDecision(){
+        return this.decision;
+    }
+
+    /**
+     * Plays games on a pool thread until the match is over.
+     */
+    private static class GameRunner implements Runnable {
+
+        /** Match the games belong to.*/
+        private final Arena arena;
+
+        /**
+         * Create a runner.
+         * @param arena match the games belong to.
+         */
+        GameRunner(Arena arena){
+            this.arena = arena;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void run(){
+            this.arena.playGames();
+        }
+    }
+}
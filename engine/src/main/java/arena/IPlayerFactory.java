@@ -0,0 +1,24 @@
+package arena;
+
+import computer.IComputerPlayer;
+
+/**
+ * Configuration of a computer player the arena can play games with.
+ * Every game gets new players, so no state carries from one game to
+ * the next, and games on different threads never share a player.
+ */
+public interface IPlayerFactory {
+
+    /**
+     * Create a player.
+     * @param side Position.WHITE or Position.BLACK.
+     * @return new player of this configuration.
+     */
+    IComputerPlayer create(int side);
+
+    /**
+     * Name of the configuration, shown in the results.
+     * @return readable name.
+     */
+    String getName();
+}
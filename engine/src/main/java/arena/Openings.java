@@ -0,0 +1,101 @@
+package arena;
+
+import engine.MoveBuffer;
+import engine.MoveGenerator;
+import engine.Position;
+import search.Search;
+import search.SearchConfig;
+import search.TranspositionTable;
+import tablebase.Tablebase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Balanced openings the arena starts its games from: every distinct
+ * position a number of plies from the start, kept if a search finds
+ * neither side ahead by more than a margin. Each opening is a line of
+ * moves from the start position. The set is the same in every run,
+ * shuffled with a fixed seed so a match stopped early still saw
+ * openings of every kind.
+ */
+public final class Openings {
+
+    /** Plies of an opening by default.*/
+    public static final int DEFAULT_PLIES = 4;
+
+    /** Largest score, in evaluation units, of a balanced opening by default.*/
+    public static final int DEFAULT_MARGIN = 40;
+
+    /** Depth the openings are searched to.*/
+    private static final int SEARCH_DEPTH = 8;
+
+    /** Size of the table of that search, in megabytes.*/
+    private static final int TABLE_SIZE_MB = 4;
+
+    /** Seed of the shuffle.*/
+    private static final long SEED = 0x4F70656EL;
+
+    /**
+     * Static helpers only.
+     */
+    private Openings(){
+    }
+
+    /**
+     * Create the balanced openings.
+     * @param plies plies of every opening.
+     * @param margin largest absolute score of a kept opening.
+     * @return lines of moves from the start position.
+     */
+    public static List<long[]> balanced(int plies, int margin){
+        List<long[]> lines = new ArrayList<long[]>();
+        collect(Position.startPosition(), new MoveBuffer(plies + 1), new long[plies], 0, new HashSet<Long>(), lines);
+        SearchConfig config = SearchConfig.defaults();
+        config.setTablebase(Tablebase.none());
+        Search search = new Search(new TranspositionTable(TABLE_SIZE_MB), 0, config);
+        List<long[]> balanced = new ArrayList<long[]>();
+        for(long[] line : lines){
+            Position position = Position.startPosition();
+            for(long move : line){
+                position.makeMove(move);
+            }
+            search.search(position, SEARCH_DEPTH);
+            if(Math.abs(search.getScore()) <= margin){
+                balanced.add(line);
+            }
+        }
+        Collections.shuffle(balanced, new Random(SEED));
+        return balanced;
+    }
+
+    /**
+     * Collect the lines leading to distinct positions.
+     * @param position position after the line so far.
+     * @param buffer move buffer, a slice per ply.
+     * @param line moves so far.
+     * @param ply number of moves so far.
+     * @param seen hashes of the positions reached.
+     * @param lines lines collected.
+     */
+    private static void collect(Position position, MoveBuffer buffer, long[] line, int ply,
+                                Set<Long> seen, List<long[]> lines){
+        if(ply == line.length){
+            if(seen.add(position.getHash())){
+                lines.add(line.clone());
+            }
+            return;
+        }
+        int moveCount = MoveGenerator.generate(position, buffer, ply);
+        for(int i = 0; i < moveCount; i++){
+            line[ply] = buffer.get(ply, i);
+            position.makeMove(line[ply]);
+            collect(position, buffer, line, ply + 1, seen, lines);
+            position.unmakeMove();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package arena;
+
+import book.OpeningBook;
+import computer.EasyComputerPlayer;
+import computer.HardComputerPlayer;
+import computer.IComputerPlayer;
+import computer.MediumComputerPlayer;
+import computer.RandomComputerPlayer;
+import search.Search;
+import search.TranspositionTable;
+
+/**
+ * The built in computer players as arena configurations, written as
+ * "random", "easy[:playouts]", "medium" or "hard[:moveTime[:hashMb]]",
+ * e.g. "hard:200:64" thinks 200 ms per move with a 64 MB table. Every hard
+ * player gets a single threaded search and a table of its own, so games
+ * played at once do not disturb each other. The players get no opening
+ * book, games start from the arena's openings.
+ */
+public final class PlayerSpec implements IPlayerFactory {
+
+    /** Move time of a hard player when none is given, in milliseconds.*/
+    public static final long DEFAULT_MOVE_TIME = 100;
+
+    /** Table size of a hard player when none is given, in megabytes.*/
+    public static final int DEFAULT_HASH_MB = 16;
+
+    /** The configuration as written.*/
+    private final String name;
+
+    /** Player kind: random, easy, medium or hard.*/
+    private final String kind;
+
+    /** Move time of a hard player, in milliseconds.*/
+    private final long moveTime;
+
+    /** Table size of a hard player, in megabytes.*/
+    private final int hashMb;
+
+    /** Playouts per move of an easy player.*/
+    private final int playouts;
+
+    /**
+     * Create a configuration.
+     * @param name the configuration as written.
+     * @param kind random, easy, medium or hard.
+     * @param moveTime move time of a hard player, in milliseconds.
+     * @param hashMb table size of a hard player, in megabytes.
+     * @param playouts playouts per move of an easy player.
+     */
+    private PlayerSpec(String name, String kind, long moveTime, int hashMb, int playouts){
+        this.name = name;
+        this.kind = kind;
+        this.moveTime = moveTime;
+        this.hashMb = hashMb;
+        this.playouts = playouts;
+    }
+
+    /**
+     * Read a configuration.
+     * @param text e.g. "medium" or "hard:200".
+     * @return the configuration.
+     * @throws IllegalArgumentException if the text names no player.
+     */
+    public static PlayerSpec parse(String text){
+        String[] fields = text.trim().toLowerCase().split(":");
+        String kind = fields[0];
+        if(!kind.equals("random") && !kind.equals("easy") && !kind.equals("medium") && !kind.equals("hard")){
+            throw new IllegalArgumentException("Unknown player: " + text);
+        }
+        if(fields.length > (kind.equals("hard") ? 3 : kind.equals("easy") ? 2 : 1)){
+            throw new IllegalArgumentException("Invalid player: " + text);
+        }
+        try{
+            boolean hard = kind.equals("hard");
+            long moveTime = hard && fields.length > 1 ? Long.parseLong(fields[1]) : DEFAULT_MOVE_TIME;
+            int hashMb = fields.length > 2 ? Integer.parseInt(fields[2]) : DEFAULT_HASH_MB;
+            int playouts = !hard && fields.length > 1 ? Integer.parseInt(fields[1]) : EasyComputerPlayer.DEFAULT_PLAYOUTS;
+            return new PlayerSpec(text.trim(), kind, moveTime, hashMb, playouts);
+        }catch(NumberFormatException e){
+            throw new IllegalArgumentException("Invalid player: " + text, e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IComputerPlayer create(int side){
+        IComputerPlayer player;
+        switch(this.kind){
+            case "random":
+                player = new RandomComputerPlayer(side);
+                break;
+            case "easy":
+                player = new EasyComputerPlayer(side, this.playouts);
+                break;
+            case "medium":
+                player = new MediumComputerPlayer(side);
+                break;
+            case "hard":
+            default:
+                player = new HardComputerPlayer(side, this.moveTime, new Search(new TranspositionTable(this.hashMb)));
+                break;
+        }
+        player.setOpeningBook(OpeningBook.none());
+        return player;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getName(){
+        return this.name;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString(){
+        return this.name;
+    }
+}
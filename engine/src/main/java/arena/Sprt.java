@@ -0,0 +1,187 @@
+package arena;
+
+/**
+ * Sequential probability ratio test of a match, and the Elo estimate
+ * of its score. The test weighs H0, the tested player is elo0 stronger,
+ * against H1, it is elo1 stronger, after every game, with the
+ * log-likelihood ratio of the generalized SPRT over the win, draw and
+ * loss counts: the score is taken to be normal with the variance seen
+ * so far. The match stops once the ratio leaves the bounds given by
+ * the error rates alpha (accepting H1 although H0 holds) and beta.
+ */
+public final class Sprt {
+
+    /** Draws added to the counts, so the first games and one sided results have a sound variance.*/
+    private static final long PRIOR_DRAWS = 1;
+
+    /** Quantile of the normal distribution for 95% error bars.*/
+    private static final double Z_95 = 1.959964;
+
+    /** Elo difference of H0.*/
+    private final double elo0;
+
+    /** Elo difference of H1.*/
+    private final double elo1;
+
+    /** Bound below which H0 is accepted.*/
+    private final double lowerBound;
+
+    /** Bound above which H1 is accepted.*/
+    private final double upperBound;
+
+    /**
+     * Create a test.
+     * @param elo0 Elo difference of H0.
+     * @param elo1 Elo difference of H1, larger than elo0.
+     * @param alpha probability of accepting H1 when H0 holds.
+     * @param beta probability of accepting H0 when H1 holds.
+     */
+    public Sprt(double elo0, double elo1, double alpha, double beta){
+        if(elo1 <= elo0 || alpha <= 0 || beta <= 0 || alpha + beta >= 1){
+            throw new IllegalArgumentException("Invalid SPRT parameters");
+        }
+        this.elo0 = elo0;
+        this.elo1 = elo1;
+        this.lowerBound = Math.log(beta / (1 - alpha));
+        this.upperBound = Math.log((1 - beta) / alpha);
+    }
+
+    /**
+     * Log-likelihood ratio of H1 against H0 after a number of games.
+     * @param wins games won by the tested player.
+     * @param draws games drawn.
+     * @param losses games lost by the tested player.
+     * @return the ratio, 0 while the games tell nothing.
+     */
+    public double llr(long wins, long draws, long losses){
+        if(wins + draws + losses == 0){
+            return 0;
+        }
+        double d = draws + PRIOR_DRAWS;
+        double games = wins + d + losses;
+        double score = (wins + d / 2) / games;
+        double variance = (wins + d / 4) / games - score * score;
+        if(variance <= 0){
+            return 0;
+        }
+        double s0 = expectedScore(this.elo0);
+        double s1 = expectedScore(this.elo1);
+        return games * (s1 - s0) * (2 * score - s0 - s1) / (2 * variance);
+    }
+
+    /**
+     * Decide the test.
+     * @param llr log-likelihood ratio, see llr.
+     * @return 1 if H1 is accepted, -1 if H0 is accepted, 0 to go on playing.
+     */
+    public int decide(double llr){
+        if(llr >= this.upperBound){
+            return 1;
+        }
+        if(llr <= this.lowerBound){
+            return -1;
+        }
+        return 0;
+    }
+
+    /**
+     * Bound below which H0 is accepted.
+     * @return log of beta / (1 - alpha).
+     */
+    public double getLowerBound(){
+        return this.lowerBound;
+    }
+
+    /**
+     * Bound above which H1 is accepted.
+     * @return log of (1 - beta) / alpha.
+     */
+    public double getUpperBound(){
+        return this.upperBound;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString(){
+        return String.format("SPRT elo0=%.1f elo1=%.1f bounds [%.2f, %.2f]",
+                this.elo0, this.elo1, this.lowerBound, this.upperBound);
+    }
+
+    /**
+     * Score of the tested player, a draw counting half a win.
+     * @param wins games won.
+     * @param draws games drawn.
+     * @param losses games lost.
+     * @return score per game, 0 - 1.
+     */
+    public static double score(long wins, long draws, long losses){
+        return (wins + draws / 2.0) / (wins + draws + losses);
+    }
+
+    /**
+     * Variance of the score of a single game.
+     * @param wins games won.
+     * @param draws games drawn.
+     * @param losses games lost.
+     * @return variance per game.
+     */
+    public static double variance(long wins, long draws, long losses){
+        double games = wins + draws + losses;
+        double score = score(wins, draws, losses);
+        return (wins + draws / 4.0) / games - score * score;
+    }
+
+    /**
+     * Expected score of a player an Elo difference stronger.
+     * @param elo Elo difference.
+     * @return score per game, 0 - 1.
+     */
+    public static double expectedScore(double elo){
+        return 1 / (1 + Math.pow(10, -elo / 400));
+    }
+
+    /**
+     * Elo difference of a score.
+     * @param score score per game, clamped to just inside 0 - 1.
+     * @return Elo difference.
+     */
+    public static double elo(double score){
+        double clamped = Math.min(Math.max(score, 1e-6), 1 - 1e-6);
+        return -400 * Math.log10(1 / clamped - 1);
+    }
+
+    /**
+     * Elo difference of a match.
+     * @param wins games won by the tested player.
+     * @param draws games drawn.
+     * @param losses games lost.
+     * @return Elo difference, 0 without games.
+     */
+    public static double elo(long wins, long draws, long losses){
+        if(wins + draws + losses == 0){
+            return 0;
+        }
+        return elo(score(wins, draws, losses));
+    }
+
+    /**
+     * Half width of the 95% confidence interval of the Elo difference.
+     * The variance is taken with the prior draws llr adds, so a one
+     * sided result still has an error bar rather than none.
+     * @param wins games won by the tested player.
+     * @param draws games drawn.
+     * @param losses games lost.
+     * @return Elo error bar, infinite without games.
+     */
+    public static double eloError(long wins, long draws, long losses){
+        long games = wins + draws + losses;
+        if(games == 0){
+            return Double.POSITIVE_INFINITY;
+        }
+        double score = score(wins, draws, losses);
+        double deviation = Math.sqrt(variance(wins, draws + PRIOR_DRAWS, losses) / games);
+        return (elo(score + Z_95 * deviation) - elo(score - Z_95 * deviation)) / 2;
+    }
+}
@@ -0,0 +1,577 @@
+package book;
+
+import engine.MoveBuffer;
+import engine.Moves;
+import engine.Position;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Builds an opening book from finished games (see GameRecord).
+ * Every game is replayed on a headless position, a game with a move
+ * that is not legal is rejected. For each of the first plies of a game
+ * a record of (position, move, result for the side moving) is collected.
+ * <p>
+ * Memory stays bounded however many games are read: records are kept
+ * in arrays of a fixed size, when full they are sorted, equal records
+ * are summed and the run is written to a temporary file. The runs are
+ * then merged in key order, a bounded number at a time, and every
+ * (position, move) played in at least a minimum number of games goes
+ * into the book, weighted by the points it scored.
+ */
+public class BookBuilder {
+
+    /** Plies of every game recorded by default.*/
+    public static final int DEFAULT_PLIES = 20;
+
+    /** Games a move needs by default to enter the book.*/
+    public static final int DEFAULT_MIN_GAMES = 5;
+
+    /** Records held in memory by default before a run is written.*/
+    public static final int DEFAULT_RUN_RECORDS = 1 << 22;
+
+    /** Most runs merged at once.*/
+    private static final int MAX_MERGE_RUNS = 64;
+
+    /** Buffer size of every run file stream.*/
+    private static final int RUN_BUFFER = 1 << 16;
+
+    /** Plies of every game recorded.*/
+    private final int plies;
+
+    /** Games a move needs to enter the book.*/
+    private final int minGames;
+
+    /** Directory of the run files.*/
+    private final Path runDirectory;
+
+    /** Keys of the records in memory.*/
+    private final long[] keys;
+
+    /** Moves of the records in memory.*/
+    private final long[] moves;
+
+    /** Outcomes of the records in memory: 0 won, 1 drawn or 2 lost by the side moving.*/
+    private final byte[] outcomes;
+
+    /** Number of records in memory.*/
+    private int size;
+
+    /** Run files written so far.*/
+    private final List<Path> runs = new ArrayList<Path>();
+
+    /** Position games are replayed on.*/
+    private final Position position = new Position();
+
+    /** Legal moves of the replayed position.*/
+    private final MoveBuffer moveBuffer = new MoveBuffer(1);
+
+    /** Games accepted.*/
+    private long games;
+
+    /** Games rejected for a bad result or an illegal move.*/
+    private long rejected;
+
+    /**
+     * Create a builder.
+     * @param plies plies of every game recorded.
+     * @param minGames games a move needs to enter the book.
+     * @param runRecords records held in memory before a run is written.
+     * @param runDirectory directory for the temporary run files.
+     */
+    public BookBuilder(int plies, int minGames, int runRecords, Path runDirectory){
+        this.plies = plies;
+        this.minGames = Math.max(1, minGames);
+        this.runDirectory = runDirectory;
+        this.keys = new long[runRecords];
+        this.moves = new long[runRecords];
+        this.outcomes = new byte[runRecords];
+    }
+
+    /**
+     * Build a book.
+     * Usage: BookBuilder book plies minGames games...
+     * @param args command line arguments.
+     * @throws IOException if a file can not be read or written.
+     */
+    public static void main(String[] args) throws IOException{
+        if(args.length < 4){
+            System.err.println("Usage: BookBuilder book plies minGames games...");
+            System.exit(1);
+        }
+        Path book = Paths.get(args[0]).toAbsolutePath();
+        Path runDirectory = Files.createTempDirectory(book.getParent(), "book-runs");
+        BookBuilder builder = new BookBuilder(Integer.parseInt(args[1]), Integer.parseInt(args[2]),
+                DEFAULT_RUN_RECORDS, runDirectory);
+        for(int i = 3; i < args.length; i++){
+            builder.addGames(Paths.get(args[i]));
+        }
+        long records = builder.build(book);
+        Files.delete(runDirectory);
+        System.out.println(builder.getGames() + " games read, " + builder.getRejected() + " rejected, "
+                + records + " book moves written");
+    }
+
+    /**
+     * Read every game of a file, one game per line.
+     * @param file game file.
+     * @throws IOException if the file can not be read.
+     */
+    public void addGames(Path file) throws IOException{
+        try(BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)){
+            String line;
+            while((line = reader.readLine()) != null){
+                if(!line.trim().isEmpty()){
+                    addGame(line);
+                }
+            }
+        }
+    }
+
+    /**
+     * Replay one game and record its first plies.
+     * @param line game line.
+     * @return true if the game was accepted, false if it was rejected.
+     * @throws IOException if a run can not be written.
+     */
+    public boolean addGame(String line) throws IOException{
+        String[] tokens = line.trim().split("\\s+");
+        int result = GameRecord.parseResult(tokens);
+        if(result < 0){
+            this.rejected++;
+            return false;
+        }
+        /*Check the whole game is legal before recording any of it.*/
+        this.position.setPieces(Position.WHITE_START, Position.BLACK_START, 0, Position.WHITE);
+        for(int i = 1; i < tokens.length; i++){
+            long move = GameRecord.parseMove(this.position, this.moveBuffer, tokens[i]);
+            if(move == Moves.NO_MOVE){
+                this.rejected++;
+                return false;
+            }
+            this.position.makeMove(move);
+        }
+        this.position.setPieces(Position.WHITE_START, Position.BLACK_START, 0, Position.WHITE);
+        int recorded = Math.min(this.plies, tokens.length - 1);
+        for(int i = 0; i < recorded; i++){
+            long move = GameRecord.parseMove(this.position, this.moveBuffer, tokens[i + 1]);
+            int outcome = result == GameRecord.DRAW ? 1
+                    : (result == GameRecord.WHITE_WINS) == (this.position.getSideToMove() == Position.WHITE) ? 0 : 2;
+            add(this.position.getHash(), move, outcome);
+            this.position.makeMove(move);
+        }
+        this.games++;
+        return true;
+    }
+
+    /**
+     * Merge every run into a book and delete the runs.
+     * @param book file of the book.
+     * @return number of book records written.
+     * @throws IOException if a file can not be read or written.
+     */
+    public long build(Path book) throws IOException{
+        writeRun();
+        while(this.runs.size() > MAX_MERGE_RUNS){
+            List<Path> merged = new ArrayList<Path>();
+            for(int start = 0; start < this.runs.size(); start += MAX_MERGE_RUNS){
+                List<Path> group = this.runs.subList(start, Math.min(start + MAX_MERGE_RUNS, this.runs.size()));
+                Path run = newRunPath();
+                try(RunWriter writer = new RunWriter(run)){
+                    merge(group, writer);
+                }
+                merged.add(run);
+            }
+            this.runs.clear();
+            this.runs.addAll(merged);
+        }
+        try(BookWriter writer = new BookWriter(book)){
+            merge(this.runs, new BookSink(writer, this.minGames));
+            this.runs.clear();
+            return writer.getCount();
+        }
+    }
+
+    /**
+     * Merge sorted runs into one sorted stream, summing equal records,
+     * and delete the runs.
+     * @param group runs to merge.
+     * @param sink receiver of the merged records.
+     * @throws IOException if a run can not be read or written.
+     */
+    private static void merge(List<Path> group, RecordSink sink) throws IOException{
+        PriorityQueue<RunReader> queue = new PriorityQueue<RunReader>(Math.max(1, group.size()), new RunOrder());
+        List<RunReader> readers = new ArrayList<RunReader>();
+        try{
+            for(Path run : group){
+                RunReader reader = new RunReader(run);
+                readers.add(reader);
+                if(reader.next()){
+                    queue.add(reader);
+                }
+            }
+            while(!queue.isEmpty()){
+                RunReader head = queue.poll();
+                long key = head.key;
+                long move = head.move;
+                int wins = 0;
+                int draws = 0;
+                int losses = 0;
+                while(head != null && head.key == key && head.move == move){
+                    wins += head.wins;
+                    draws += head.draws;
+                    losses += head.losses;
+                    if(head.next()){
+                        queue.add(head);
+                    }
+                    head = queue.peek() != null && queue.peek().key == key && queue.peek().move == move
+                            ? queue.poll() : null;
+                }
+                sink.accept(key, move, wins, draws, losses);
+            }
+        }finally{
+            for(RunReader reader : readers){
+                reader.close();
+            }
+        }
+        for(Path run : group){
+            Files.delete(run);
+        }
+    }
+
+    /**
+     * Add a record to memory, writing a run when full.
+     * @param key Zobrist hash of the position.
+     * @param move move played.
+     * @param outcome 0 won, 1 drawn or 2 lost by the side moving.
+     * @throws IOException if a run can not be written.
+     */
+    private void add(long key, long move, int outcome) throws IOException{
+        if(this.size == this.keys.length){
+            writeRun();
+        }
+        this.keys[this.size] = key;
+        this.moves[this.size] = move;
+        this.outcomes[this.size] = (byte) outcome;
+        this.size++;
+    }
+
+    /**
+     * Sort the records in memory, sum equal ones and write them as a run.
+     * @throws IOException if the run can not be written.
+     */
+    private void writeRun() throws IOException{
+        if(this.size == 0){
+            return;
+        }
+        sort(0, this.size - 1);
+        Path run = newRunPath();
+        try(RunWriter writer = new RunWriter(run)){
+            int start = 0;
+            while(start < this.size){
+                int end = start;
+                int[] counts = new int[3];
+                while(end < this.size && this.keys[end] == this.keys[start] && this.moves[end] == this.moves[start]){
+                    counts[this.outcomes[end]]++;
+                    end++;
+                }
+                writer.accept(this.keys[start], this.moves[start], counts[0], counts[1], counts[2]);
+                start = end;
+            }
+        }
+        this.runs.add(run);
+        this.size = 0;
+    }
+
+    /**
+     * Path of a new run file.
+     * @return unused path in the run directory.
+     * @throws IOException if the file can not be created.
+     */
+    private Path newRunPath() throws IOException{
+        return Files.createTempFile(this.runDirectory, "run", ".bin");
+    }
+
+    /**
+     * Sort the records in memory by key and move, quicksort with
+     * a median of three pivot and insertion sort for short ranges.
+     * @param low first record of the range.
+     * @param high last record of the range.
+     */
+    private void sort(int low, int high){
+        while(high - low > 16){
+            int middle = (low + high) >>> 1;
+            if(compare(middle, low) < 0){
+                swap(middle, low);
+            }
+            if(compare(high, low) < 0){
+                swap(high, low);
+            }
+            if(compare(high, middle) < 0){
+                swap(high, middle);
+            }
+            long pivotKey = this.keys[middle];
+            long pivotMove = this.moves[middle];
+            int i = low;
+            int j = high;
+            while(i <= j){
+                while(compare(i, pivotKey, pivotMove) < 0){
+                    i++;
+                }
+                while(compare(j, pivotKey, pivotMove) > 0){
+                    j--;
+                }
+                if(i <= j){
+                    swap(i, j);
+                    i++;
+                    j--;
+                }
+            }
+            /*Recurse into the smaller part, loop on the larger one.*/
+            if(j - low < high - i){
+                sort(low, j);
+                low = i;
+            }else{
+                sort(i, high);
+                high = j;
+            }
+        }
+        for(int i = low + 1; i <= high; i++){
+            for(int j = i; j > low && compare(j, j - 1) < 0; j--){
+                swap(j, j - 1);
+            }
+        }
+    }
+
+    /**
+     * Compare two records in memory.
+     * @param first a record.
+     * @param second another record.
+     * @return negative, 0 or positive as the first sorts before, with or after the second.
+     */
+    private int compare(int first, int second){
+        return compare(first, this.keys[second], this.moves[second]);
+    }
+
+    /**
+     * Compare a record in memory with a key and move.
+     * @param record a record.
+     * @param key key to compare with.
+     * @param move move to compare with.
+     * @return negative, 0 or positive as the record sorts before, with or after them.
+     */
+    private int compare(int record, long key, long move){
+        int order = Long.compare(this.keys[record], key);
+        return order != 0 ? order : Long.compare(this.moves[record], move);
+    }
+
+    /**
+     * Swap two records in memory.
+     * @param first a record.
+     * @param second another record.
+     */
+    private void swap(int first, int second){
+        long key = this.keys[first];
+        this.keys[first] = this.keys[second];
+        this.keys[second] = key;
+        long move = this.moves[first];
+        this.moves[first] = this.moves[second];
+        this.moves[second] = move;
+        byte outcome = this.outcomes[first];
+        this.outcomes[first] = this.outcomes[second];
+        this.outcomes[second] = outcome;
+    }
+
+    /**
+     * Games accepted.
+     * @return number of games.
+     */
+    public long getGames(){
+        return this.games;
+    }
+
+    /**
+     * Games rejected for a bad result or an illegal move.
+     * @return number of games.
+     */
+    public long getRejected(){
+        return this.rejected;
+    }
+
+    /**
+     * Receiver of records in ascending order of key and move.
+     */
+    private interface RecordSink {
+
+        /**
+         * Receive a record.
+         * @param key Zobrist hash of the position.
+         * @param move move played.
+         * @param wins games won by the side moving.
+         * @param draws games drawn.
+         * @param losses games lost by the side moving.
+         * @throws IOException if the record can not be written.
+         */
+        void accept(long key, long move, int wins, int draws, int losses) throws IOException;
+    }
+
+    /**
+     * Writes the records of a run file.
+     */
+    private static class RunWriter implements RecordSink, Closeable {
+
+        /** Stream of the run file.*/
+        private final DataOutputStream out;
+
+        /**
+         * Create a run file.
+         * @param path file to write.
+         * @throws IOException if the file can not be opened.
+         */
+        RunWriter(Path path) throws IOException{
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), RUN_BUFFER));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void accept(long key, long move, int wins, int draws, int losses) throws IOException{
+            this.out.writeLong(key);
+            this.out.writeLong(move);
+            this.out.writeInt(wins);
+            this.out.writeInt(draws);
+            this.out.writeInt(losses);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void close() throws IOException{
+            this.out.close();
+        }
+    }
+
+    /**
+     * Writes the merged records played often enough into the book.
+     */
+    private static class BookSink implements RecordSink {
+
+        /** Writer of the book.*/
+        private final BookWriter writer;
+
+        /** Games a move needs to enter the book.*/
+        private final int minGames;
+
+        /**
+         * Create a sink.
+         * @param writer writer of the book.
+         * @param minGames games a move needs to enter the book.
+         */
+        BookSink(BookWriter writer, int minGames){
+            this.writer = writer;
+            this.minGames = minGames;
+        }
+
+        /**
+         * {@inheritDoc}
+         * The weight is the points scored in half points, a move that only lost is never chosen.
+         */
+        @Override
+        public void accept(long key, long move, int wins, int draws, int losses) throws IOException{
+            if(wins + draws + losses >= this.minGames){
+                this.writer.add(key, move, 2 * wins + draws, wins, draws, losses);
+            }
+        }
+    }
+
+    /**
+     * Reads the records of a run file one at a time.
+     */
+    private static class RunReader implements Closeable {
+
+        /** Stream of the run file.*/
+        private final DataInputStream in;
+
+        /** Key of the current record.*/
+        long key;
+
+        /** Move of the current record.*/
+        long move;
+
+        /** Wins of the current record.*/
+        int wins;
+
+        /** Draws of the current record.*/
+        int draws;
+
+        /** Losses of the current record.*/
+        int losses;
+
+        /**
+         * Open a run file.
+         * @param path file to read.
+         * @throws IOException if the file can not be opened.
+         */
+        RunReader(Path path) throws IOException{
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), RUN_BUFFER));
+        }
+
+        /**
+         * Advance to the next record.
+         * @return false at the end of the run.
+         * @throws IOException if the file can not be read.
+         */
+        boolean next() throws IOException{
+            try{
+                this.key = this.in.readLong();
+            }catch(EOFException e){
+                return false;
+            }
+            this.move = this.in.readLong();
+            this.wins = this.in.readInt();
+            this.draws = this.in.readInt();
+            this.losses = this.in.readInt();
+            return true;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void close() throws IOException{
+            this.in.close();
+        }
+    }
+
+    /**
+     * Orders run readers by their current key and move.
+     */
+    private static class RunOrder implements Comparator<RunReader> {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int compare(RunReader first, RunReader second){
+            int order = Long.compare(first.key, second.key);
+            return order != 0 ? order : Long.compare(first.move, second.move);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package book;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes an opening book file record by record, see OpeningBook.
+ * Records must be added in ascending order of key and then move.
+ * The book is written under a temporary name and renamed by close,
+ * so a book file with the final name is always whole.
+ */
+public final class BookWriter implements Closeable {
+
+    /** Final path of the book.*/
+    private final Path path;
+
+    /** Path written until the book is closed.*/
+    private final Path temporary;
+
+    /** Stream of the records.*/
+    private final DataOutputStream out;
+
+    /** Number of records written.*/
+    private long count;
+
+    /** Key of the last record.*/
+    private long lastKey;
+
+    /** Move of the last record.*/
+    private long lastMove;
+
+    /**
+     * Start writing a book.
+     * @param path file of the book.
+     * @throws IOException if the file can not be created.
+     */
+    public BookWriter(Path path) throws IOException{
+        this.path = path;
+        this.temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(this.temporary), 1 << 16));
+        this.out.writeInt(OpeningBook.MAGIC);
+        this.out.writeInt(OpeningBook.VERSION);
+        this.out.writeLong(0);
+    }
+
+    /**
+     * Add a record.
+     * @param key Zobrist hash of the position.
+     * @param move packed move.
+     * @param weight how often the move is chosen relative to the others.
+     * @param wins games won after the move by the side making it.
+     * @param draws games drawn after the move.
+     * @param losses games lost after the move by the side making it.
+     * @throws IOException if the record can not be written.
+     */
+    public void add(long key, long move, int weight, int wins, int draws, int losses) throws IOException{
+        if(this.count > 0 && (key < this.lastKey || (key == this.lastKey && move <= this.lastMove))){
+            throw new IllegalArgumentException("Book records out of order");
+        }
+        this.out.writeLong(key);
+        this.out.writeLong(move);
+        this.out.writeInt(Math.max(0, weight));
+        this.out.writeInt(wins);
+        this.out.writeInt(draws);
+        this.out.writeInt(losses);
+        this.lastKey = key;
+        this.lastMove = move;
+        this.count++;
+    }
+
+    /**
+     * Number of records written so far.
+     * @return record count.
+     */
+    public long getCount(){
+        return this.count;
+    }
+
+    /**
+     * Complete the header and move the book to its final path.
+     * @throws IOException if the book can not be completed.
+     */
+    @Override
+    public void close() throws IOException{
+        this.out.close();
+        try(FileChannel channel = FileChannel.open(this.temporary, StandardOpenOption.WRITE)){
+            ByteBuffer count = ByteBuffer.allocate(8);
+            count.putLong(this.count);
+            count.flip();
+            while(count.hasRemaining()){
+                channel.write(count, 8 + count.position());
+            }
+        }
+        Files.move(this.temporary, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,131 @@
+package book;
+
+import engine.MoveBuffer;
+import engine.MoveGenerator;
+import engine.Moves;
+import engine.Position;
+
+/**
+ * Text form of a finished game, one game per line: the result followed
+ * by the moves from the start position, separated by spaces, e.g.
+ * "1-0 23-18 11-15 18x11 8x15 ...". The result is "1-0" if white won, "0-1"
+ * if black won and "1/2-1/2" for a draw; moves are written as
+ * Moves.toString writes them, in the standard square numbers of FEN.
+ * When two capture paths share their start and end, each jump is
+ * followed by its captured squares, e.g. "14x30(18,26)".
+ */
+public final class GameRecord {
+
+    /** Result of a game white won.*/
+    public static final int WHITE_WINS = 0;
+
+    /** Result of a drawn game.*/
+    public static final int DRAW = 1;
+
+    /** Result of a game black won.*/
+    public static final int BLACK_WINS = 2;
+
+    /** Text of every result.*/
+    private static final String[] RESULTS = {"1-0", "1/2-1/2", "0-1"};
+
+    /**
+     * Static helpers only.
+     */
+    private GameRecord(){
+    }
+
+    /**
+     * Write a game as a line.
+     * @param result WHITE_WINS, DRAW or BLACK_WINS.
+     * @param moves packed moves from the start position.
+     * @param count number of moves.
+     * @return game line.
+     */
+    public static String format(int result, long[] moves, int count){
+        StringBuilder line = new StringBuilder(RESULTS[result]);
+        Position position = Position.startPosition();
+        MoveBuffer buffer = new MoveBuffer(1);
+        for(int i = 0; i < count; i++){
+            line.append(' ').append(moveText(position, buffer, moves[i]));
+            position.makeMove(moves[i]);
+        }
+        return line.toString();
+    }
+
+    /**
+     * Text of a move, with its captured squares if the plain text is ambiguous.
+     * @param position position the move is made in.
+     * @param buffer buffer to generate the legal moves into.
+     * @param move packed move legal in the position.
+     * @return move text.
+     */
+    public static String moveText(Position position, MoveBuffer buffer, long move){
+        String text = Moves.toString(move);
+        int count = MoveGenerator.generate(position, buffer, 0);
+        for(int i = 0; i < count; i++){
+            long other = buffer.get(0, i);
+            if(other != move && Moves.toString(other).equals(text)){
+                return text + capturedText(move);
+            }
+        }
+        return text;
+    }
+
+    /**
+     * Captured squares of a move in brackets.
+     * @param move packed jump.
+     * @return e.g. "(6,15)", standard square numbers in increasing order.
+     */
+    private static String capturedText(long move){
+        StringBuilder text = new StringBuilder("(");
+        int captured = Moves.captured(move);
+        for(int number = 1; number <= 32; number++){
+            if((captured & (1 << Moves.numberedSquare(number))) != 0){
+                text.append(text.length() > 1 ? "," : "").append(number);
+            }
+        }
+        return text.append(')').toString();
+    }
+
+    /**
+     * Result of a game line.
+     * @param tokens the line split at spaces.
+     * @return WHITE_WINS, DRAW or BLACK_WINS, -1 if the line has no valid result.
+     */
+    public static int parseResult(String[] tokens){
+        if(tokens.length == 0){
+            return -1;
+        }
+        for(int result = 0; result < RESULTS.length; result++){
+            if(RESULTS[result].equals(tokens[0])){
+                return result;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Find the legal move a move text stands for.
+     * @param position position the move is made in.
+     * @param moves buffer to generate the legal moves into.
+     * @param text move text.
+     * @return packed move, or Moves.NO_MOVE if no legal move, or more
+     * than one capture path, is written this way.
+     */
+    public static long parseMove(Position position, MoveBuffer moves, String text){
+        int count = MoveGenerator.generate(position, moves, 0);
+        long found = Moves.NO_MOVE;
+        boolean withCaptures = text.endsWith(")");
+        for(int i = 0; i < count; i++){
+            long move = moves.get(0, i);
+            String written = withCaptures ? Moves.toString(move) + capturedText(move) : Moves.toString(move);
+            if(written.equals(text)){
+                if(found != Moves.NO_MOVE){
+                    return Moves.NO_MOVE;
+                }
+                found = move;
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,261 @@
+package book;
+
+import engine.MoveBuffer;
+import engine.Moves;
+import engine.Position;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+/**
+ * Opening book mapped into memory with FileChannel.map.
+ * The file holds a header and fixed size records sorted by Zobrist key
+ * and then move, one record per (position, move): the key, the packed
+ * move, a weight and the number of games won, drawn and lost after the
+ * move from the view of the side making it. All records of a position
+ * are adjacent, a position is found by interpolation search, which the
+ * uniformly spread keys make a few probes, mixed with bisection steps
+ * so a lookup never takes more than about twice the steps of a binary
+ * search. Lookups are thread safe.
+ */
+public final class OpeningBook {
+
+    /** System property naming the shared book file, e.g. -Dcheckers.book=/data/book.bin.*/
+    public static final String PATH_PROPERTY = "checkers.book";
+
+    /** First int of every book file, "CKOB".*/
+    static final int MAGIC = 0x434B4F42;
+
+    /** Format version.*/
+    static final int VERSION = 1;
+
+    /** Bytes before the records: magic, version and the record count.*/
+    static final int HEADER_SIZE = 4 + 4 + 8;
+
+    /** Bytes of a record: key, move, weight, wins, draws and losses.*/
+    static final int RECORD_SIZE = 8 + 8 + 4 * 4;
+
+    /** Book without any record.*/
+    private static final OpeningBook NONE = new OpeningBook(null, 0);
+
+    /** Book shared by the computer players, opened on first use.*/
+    private static OpeningBook shared;
+
+    /** The whole file, read only, null for the empty book.*/
+    private final MappedByteBuffer buffer;
+
+    /** Number of records.*/
+    private final int recordCount;
+
+    /**
+     * Create a book over a mapped file.
+     * @param buffer the mapped file.
+     * @param recordCount number of records.
+     */
+    private OpeningBook(MappedByteBuffer buffer, int recordCount){
+        this.buffer = buffer;
+        this.recordCount = recordCount;
+    }
+
+    /**
+     * Map a book file.
+     * @param path file to map.
+     * @return opened book.
+     * @throws IOException if the file can not be mapped or is not a book.
+     */
+    public static OpeningBook open(Path path) throws IOException{
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)){
+            if(channel.size() > Integer.MAX_VALUE || channel.size() < HEADER_SIZE){
+                throw new IOException("Not a book file: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            long count = buffer.getLong(8);
+            if(buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                    || HEADER_SIZE + count * RECORD_SIZE != channel.size()){
+                throw new IOException("Not a book file: " + path);
+            }
+            return new OpeningBook(buffer, (int) count);
+        }
+    }
+
+    /**
+     * Book without any record, every lookup misses.
+     * @return empty book.
+     */
+    public static OpeningBook none(){
+        return NONE;
+    }
+
+    /**
+     * Book shared by the computer players, opened from the file in
+     * PATH_PROPERTY. Without the property, or if the file can not be
+     * opened, this is the empty book.
+     * @return shared book.
+     */
+    public static synchronized OpeningBook getShared(){
+        if(shared == null){
+            shared = NONE;
+            String path = System.getProperty(PATH_PROPERTY);
+            if(path != null){
+                try{
+                    shared = open(Paths.get(path));
+                }catch(IOException e){
+                    System.err.println("Opening book not opened: " + e.getMessage());
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Choose a book move of a position, at random in proportion to the weights.
+     * Book moves that are not among the legal moves are ignored.
+     * @param position position to move from.
+     * @param moves buffer holding the legal moves of the position.
+     * @param ply ply slice of the buffer holding them.
+     * @param random source of the choice.
+     * @return packed move, or Moves.NO_MOVE if the book has no move.
+     */
+    public long chooseMove(Position position, MoveBuffer moves, int ply, Random random){
+        int first = find(position.getHash());
+        if(first < 0){
+            return Moves.NO_MOVE;
+        }
+        long key = getKey(first);
+        long total = 0;
+        for(int record = first; record < this.recordCount && getKey(record) == key; record++){
+            if(moves.contains(ply, getMove(record))){
+                total += getWeight(record);
+            }
+        }
+        if(total <= 0){
+            return Moves.NO_MOVE;
+        }
+        long pick = (long) (random.nextDouble() * total);
+        for(int record = first; record < this.recordCount && getKey(record) == key; record++){
+            long move = getMove(record);
+            if(moves.contains(ply, move)){
+                pick -= getWeight(record);
+                if(pick < 0){
+                    return move;
+                }
+            }
+        }
+        return Moves.NO_MOVE;
+    }
+
+    /**
+     * First record of a position.
+     * @param key Zobrist hash of the position.
+     * @return record number, or -1 if the book does not hold the position.
+     */
+    public int find(long key){
+        int low = 0;
+        int high = this.recordCount - 1;
+        boolean interpolate = true;
+        while(low <= high){
+            long lowKey = getKey(low);
+            long highKey = getKey(high);
+            if(key < lowKey || key > highKey){
+                return -1;
+            }
+            int middle;
+            if(interpolate && highKey != lowKey){
+                double fraction = ((double) key - lowKey) / ((double) highKey - lowKey);
+                middle = low + (int) (fraction * (high - low));
+                middle = Math.min(Math.max(middle, low), high);
+            }else{
+                middle = (low + high) >>> 1;
+            }
+            interpolate = !interpolate;
+            long middleKey = getKey(middle);
+            if(middleKey < key){
+                low = middle + 1;
+            }else if(middleKey > key){
+                high = middle - 1;
+            }else{
+                while(middle > 0 && getKey(middle - 1) == key){
+                    middle--;
+                }
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Number of records.
+     * @return record count.
+     */
+    public int getRecordCount(){
+        return this.recordCount;
+    }
+
+    /**
+     * Zobrist key of a record.
+     * @param record record number.
+     * @return position hash.
+     */
+    public long getKey(int record){
+        return this.buffer.getLong(offset(record));
+    }
+
+    /**
+     * Move of a record.
+     * @param record record number.
+     * @return packed move.
+     */
+    public long getMove(int record){
+        return this.buffer.getLong(offset(record) + 8);
+    }
+
+    /**
+     * Weight of a record, how often its move is chosen relative to the others.
+     * @param record record number.
+     * @return weight, at least 0.
+     */
+    public int getWeight(int record){
+        return this.buffer.getInt(offset(record) + 16);
+    }
+
+    /**
+     * Games won after the move of a record by the side making it.
+     * @param record record number.
+     * @return number of games.
+     */
+    public int getWins(int record){
+        return this.buffer.getInt(offset(record) + 20);
+    }
+
+    /**
+     * Games drawn after the move of a record.
+     * @param record record number.
+     * @return number of games.
+     */
+    public int getDraws(int record){
+        return this.buffer.getInt(offset(record) + 24);
+    }
+
+    /**
+     * Games lost after the move of a record by the side making it.
+     * @param record record number.
+     * @return number of games.
+     */
+    public int getLosses(int record){
+        return this.buffer.getInt(offset(record) + 28);
+    }
+
+    /**
+     * File offset of a record.
+     * @param record record number.
+     * @return byte offset.
+     */
+    private static int offset(int record){
+        return HEADER_SIZE + record * RECORD_SIZE;
+    }
+}
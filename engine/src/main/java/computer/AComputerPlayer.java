@@ -0,0 +1,107 @@
+package computer;
+
+import book.OpeningBook;
+import engine.MoveBuffer;
+import engine.MoveGenerator;
+import engine.Moves;
+import engine.Position;
+
+import java.util.Random;
+
+/**
+ * Abstraction of computer player that maintains the necessary
+ * functionality for a computer player.
+ */
+abstract class AComputerPlayer implements IComputerPlayer {
+
+    /** Side assigned to this computer player.*/
+    protected final int side;
+    /** Moves generated for this computer player, reused for every move.*/
+    protected final MoveBuffer moveBuffer = new MoveBuffer();
+    /** Line expected after the last move, set by searching players.*/
+    protected long[] principalVariation = new long[0];
+    /** Opening book consulted before findMove.*/
+    private OpeningBook openingBook = OpeningBook.getShared();
+    /** Random generator choosing among the book moves of a position.*/
+    private final Random bookRandom = new Random();
+
+    /**
+     * Create an abstract computer player with a given
+     * side. Protected as to only allow extending
+     * classes to call super.
+     * @param side Position.WHITE or Position.BLACK.
+     */
+    AComputerPlayer(int side){
+        this.side = side;
+    }
+
+    /**
+     * Choose one of the possible moves.
+     * @param position position the moves were found in.
+     * @param possibleMoves buffer holding the moves that can be made at ply 0.
+     * @param moveCount number of moves at ply 0, at least one.
+     * @return the chosen packed move, or Moves.NO_MOVE.
+     */
+    protected abstract long findMove(Position position, MoveBuffer possibleMoves, int moveCount);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getSide(){
+        return this.side;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long[] getPrincipalVariation(){
+        return this.principalVariation;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setOpeningBook(OpeningBook openingBook){
+        this.openingBook = openingBook;
+    }
+
+    /**
+     * {@inheritDoc}
+     * A move found in the opening book is played without calling findMove.
+     * Implementation is complete here, no need to
+     * override in extending class.
+     */
+    @Override
+    public long makeMove(Position position) {
+        int moveCount = findPossibleMovesForComputer(position, this.moveBuffer, 0);
+        /*No moves found.*/
+        if(moveCount == 0){
+            return Moves.NO_MOVE;
+        }
+        long bookMove = this.openingBook.chooseMove(position, this.moveBuffer, 0, this.bookRandom);
+        if(bookMove != Moves.NO_MOVE){
+            this.principalVariation = new long[]{bookMove};
+            return bookMove;
+        }
+        return findMove(position, this.moveBuffer, moveCount);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int findPossibleMovesForComputer(Position position, MoveBuffer moves, int ply){
+        return MoveGenerator.generate(position, moves, ply);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Nothing to release here, players running threads override.
+     */
+    @Override
+    public void close(){
+    }
+}
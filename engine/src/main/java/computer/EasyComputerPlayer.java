@@ -0,0 +1,75 @@
+package computer;
+
+import engine.Moves;
+import engine.MoveBuffer;
+import engine.Position;
+import search.MonteCarloSearch;
+import search.SearchMode;
+
+/**
+ * Framework for creation of a easy computer player.
+ * Makes moves with a Monte Carlo tree search of random playouts,
+ * the number of playouts per move sets how well it plays. The
+ * playouts run on the number of threads of the SearchMode
+ * properties, the tree of the expected position is kept between moves.
+ */
+public class EasyComputerPlayer extends AComputerPlayer{
+
+    /** Playouts per move when none are given.*/
+    public static final int DEFAULT_PLAYOUTS = 500;
+
+    /** Tree nodes reserved per playout allowed.*/
+    private static final int NODES_PER_PLAYOUT = 8;
+
+    /** Smallest tree, in nodes.*/
+    private static final int MIN_NODES = 1 << 12;
+
+    /** Playouts of every move.*/
+    private final int playouts;
+
+    /** Search run for every move.*/
+    private final MonteCarloSearch search;
+
+    /**
+     * Create a new easy computer player with given side.
+     * @param side Position.WHITE or Position.BLACK.
+     */
+    public EasyComputerPlayer(int side) {
+        this(side, DEFAULT_PLAYOUTS);
+    }
+
+    /**
+     * Create a new easy computer player with given side and playouts per move.
+     * @param side Position.WHITE or Position.BLACK.
+     * @param playouts playouts of every move, more play stronger.
+     */
+    public EasyComputerPlayer(int side, int playouts) {
+        super(side);
+        this.playouts = Math.max(1, playouts);
+        int threads = Math.max(1, Integer.getInteger(SearchMode.THREADS_PROPERTY, 1));
+        this.search = new MonteCarloSearch(Math.max(MIN_NODES, this.playouts * NODES_PER_PLAYOUT), threads);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected long findMove(Position position, MoveBuffer possibleMoves, int moveCount) {
+        if(moveCount == 1){
+            this.principalVariation = new long[]{possibleMoves.get(0, 0)};
+            return possibleMoves.get(0, 0);
+        }
+        long move = this.search.search(position, this.playouts);
+        this.principalVariation = this.search.getPrincipalVariation();
+        return move == Moves.NO_MOVE ? possibleMoves.get(0, 0) : move;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Closes the search, releasing its playout threads.
+     */
+    @Override
+    public void close(){
+        this.search.close();
+    }
+}
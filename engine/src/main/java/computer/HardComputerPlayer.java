@@ -0,0 +1,82 @@
+package computer;
+
+import engine.MoveBuffer;
+import engine.Moves;
+import engine.Position;
+import search.ISearch;
+import search.SearchMode;
+import search.TimeManager;
+import search.TranspositionTable;
+
+/**
+ * Framework for creation of a hard computer player.
+ * Makes moves with an alpha-beta search of the position,
+ * sharing the transposition table of all computer players.
+ * The search deepens until its time budget is used up, the
+ * search strategy comes from the SearchMode system properties
+ * unless one is given.
+ */
+public class HardComputerPlayer extends AComputerPlayer{
+
+    /** Time budget of a move when none is given, in milliseconds.*/
+    public static final long DEFAULT_MOVE_TIME = 1000;
+
+    /** Time budget of every move, in milliseconds.*/
+    private final long moveTime;
+
+    /** Search run for every move.*/
+    private final ISearch search;
+
+    /**
+     * Create a new hard computer player with given side.
+     * @param side Position.WHITE or Position.BLACK.
+     */
+    public HardComputerPlayer(int side) {
+        this(side, DEFAULT_MOVE_TIME);
+    }
+
+    /**
+     * Create a new hard computer player with given side and move time.
+     * @param side Position.WHITE or Position.BLACK.
+     * @param moveTime time budget of every move, in milliseconds.
+     */
+    public HardComputerPlayer(int side, long moveTime) {
+        this(side, moveTime, SearchMode.fromProperties(TranspositionTable.getShared()));
+    }
+
+    /**
+     * Create a new hard computer player with given side, move time and search.
+     * @param side Position.WHITE or Position.BLACK.
+     * @param moveTime time budget of every move, in milliseconds.
+     * @param search search strategy used for every move.
+     */
+    public HardComputerPlayer(int side, long moveTime, ISearch search) {
+        super(side);
+        this.moveTime = moveTime;
+        this.search = search;
+    }
+
+    /**
+     * {@inheritDoc}
+     * A single legal move is played without searching.
+     */
+    @Override
+    protected long findMove(Position position, MoveBuffer possibleMoves, int moveCount) {
+        if(moveCount == 1){
+            this.principalVariation = new long[]{possibleMoves.get(0, 0)};
+            return possibleMoves.get(0, 0);
+        }
+        long move = this.search.search(position, MoveBuffer.MAX_PLY, new TimeManager(this.moveTime));
+        this.principalVariation = this.search.getPrincipalVariation();
+        return move == Moves.NO_MOVE ? possibleMoves.get(0, 0) : move;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Closes the search, releasing its helper threads.
+     */
+    @Override
+    public void close(){
+        this.search.close();
+    }
+}
@@ -0,0 +1,58 @@
+package computer;
+
+import book.OpeningBook;
+import engine.MoveBuffer;
+import engine.Position;
+
+/**
+ * Interface for creating various types of computer players.
+ * Computer players are headless, they only see the bitboard
+ * position and answer with a packed move (see engine.Moves).
+ */
+public interface IComputerPlayer {
+
+    /**
+     * Retrieve the side of this computer player.
+     * @return Position.WHITE or Position.BLACK.
+     */
+    int getSide();
+
+    /**
+     * Alert this computer player that he can now
+     * choose a move by his unique algorithm.
+     * @param position position to move from, the side to move
+     *                 is this computer player's side.
+     * @return packed move, or Moves.NO_MOVE if no move was found.
+     */
+    long makeMove(Position position);
+
+    /**
+     * Retrieve the line of play this computer player expects
+     * after its last move, starting with that move.
+     * @return packed moves, empty if the player does not search.
+     */
+    long[] getPrincipalVariation();
+
+    /**
+     * Replace the opening book consulted before choosing a move,
+     * by default the shared book (see OpeningBook.getShared).
+     * @param openingBook book to consult, OpeningBook.none() for none.
+     */
+    void setOpeningBook(OpeningBook openingBook);
+
+    /**
+     * Find all possible jumps or normal moves for the computer pieces.
+     * Jumps are mandatory, so if any jump exists only jumps are found.
+     * @param position position to find moves in.
+     * @param moves buffer to receive the packed moves.
+     * @param ply ply slice of the buffer to fill.
+     * @return number of moves written into the buffer.
+     */
+    int findPossibleMovesForComputer(Position position, MoveBuffer moves, int ply);
+
+    /**
+     * Alert this computer player that its game is over, releasing
+     * any threads it runs. It can not choose a move afterwards.
+     */
+    void close();
+}
@@ -0,0 +1,47 @@
+package computer;
+
+import engine.Moves;
+import engine.MoveBuffer;
+import engine.Position;
+import search.Search;
+import search.TranspositionTable;
+
+/**
+ * Framework for creation of a medium computer player.
+ * Makes moves with minor intelligence: a shallow search,
+ * extended through capture sequences, of the heuristic evaluation.
+ */
+public class MediumComputerPlayer extends AComputerPlayer{
+
+    /** Plies searched for every move.*/
+    private static final int SEARCH_DEPTH = 4;
+
+    /** Size of the private transposition table, in megabytes.*/
+    private static final int TABLE_SIZE_MB = 1;
+
+    /** Search run for every move, with a table of its own
+     * so it never profits from deeper searches of other players.*/
+    private final Search search = new Search(new TranspositionTable(TABLE_SIZE_MB));
+
+    /**
+     * Create a new medium computer player with given side.
+     * @param side Position.WHITE or Position.BLACK.
+     */
+    public MediumComputerPlayer(int side) {
+        super(side);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected long findMove(Position position, MoveBuffer possibleMoves, int moveCount) {
+        if(moveCount == 1){
+            this.principalVariation = new long[]{possibleMoves.get(0, 0)};
+            return possibleMoves.get(0, 0);
+        }
+        long move = this.search.search(position, SEARCH_DEPTH);
+        this.principalVariation = this.search.getPrincipalVariation();
+        return move == Moves.NO_MOVE ? possibleMoves.get(0, 0) : move;
+    }
+}
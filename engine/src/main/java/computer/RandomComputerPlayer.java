@@ -0,0 +1,32 @@
+package computer;
+
+import engine.MoveBuffer;
+import engine.Position;
+
+import java.util.Random;
+
+/**
+ * Framework for creation of a random computer player.
+ * Makes moves with no intelligence, only randomness.
+ */
+public class RandomComputerPlayer extends AComputerPlayer{
+
+    /** Random generator to define new random numbers for random moves.*/
+    private static final Random randomGenerator = new Random(System.currentTimeMillis());
+
+    /**
+     * Create a new random computer player with given side.
+     * @param side Position.WHITE or Position.BLACK.
+     */
+    public RandomComputerPlayer(int side){
+        super(side);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long findMove(Position position, MoveBuffer possibleMoves, int moveCount){
+        return possibleMoves.get(0, randomGenerator.nextInt(moveCount));
+    }
+}
@@ -0,0 +1,117 @@
+package engine;
+
+/**
+ * Masks and shift helpers for the 32 playable squares of the
+ * checker board packed into an int.
+ * Square numbering follows the board rows from the top:
+ * * * * * * * * * * * *
+ * 00 __ 01 __ 02 __ 03 __ *
+ * __ 04 __ 05 __ 06 __ 07 *
+ * 08 __ 09 __ 10 __ 11 __ *
+ * __ 12 __ 13 __ 14 __ 15 *
+ * 16 __ 17 __ 18 __ 19 __ *
+ * __ 20 __ 21 __ 22 __ 23 *
+ * 24 __ 25 __ 26 __ 27 __ *
+ * __ 28 __ 29 __ 30 __ 31 *
+ * * * * * * * * * * * *
+ * Bit n of a bitboard is set when square n is part of the set.
+ * Directions match the MoveGenerator direction constants
+ * (FORWARD_LEFT to BACKWARD_RIGHT), forward is towards row 7.
+ */
+public final class Bitboards {
+
+    /** All 32 playable squares.*/
+    public static final int ALL_SQUARES = 0xFFFFFFFF;
+
+    /** Squares on rows 0, 2, 4 and 6.*/
+    public static final int EVEN_ROWS = 0x0F0F0F0F;
+
+    /** Squares on rows 1, 3, 5 and 7.*/
+    public static final int ODD_ROWS = 0xF0F0F0F0;
+
+    /** Squares on column 0 (left most column of the board).*/
+    public static final int COLUMN_0 = 0x01010101;
+
+    /** Squares on column 7 (right most column of the board).*/
+    public static final int COLUMN_7 = 0x80808080;
+
+    /** Row 0, where black men promote and white men start.*/
+    public static final int ROW_0 = 0x0000000F;
+
+    /** Row 7, where white men promote and black men start.*/
+    public static final int ROW_7 = 0xF0000000;
+
+    /**
+     * Static helpers only.
+     */
+    private Bitboards(){
+    }
+
+    /**
+     * Move every square one step to (row + 1, column + 1).
+     * @param bb bitboard of squares to move.
+     * @return bitboard of the destination squares that lie on the board.
+     */
+    public static int forwardLeft(int bb){
+        return ((bb & EVEN_ROWS) << 4) | ((bb & ODD_ROWS & ~COLUMN_7) << 5);
+    }
+
+    /**
+     * Move every square one step to (row + 1, column - 1).
+     * @param bb bitboard of squares to move.
+     * @return bitboard of the destination squares that lie on the board.
+     */
+    public static int forwardRight(int bb){
+        return ((bb & EVEN_ROWS & ~COLUMN_0) << 3) | ((bb & ODD_ROWS) << 4);
+    }
+
+    /**
+     * Move every square one step to (row - 1, column + 1).
+     * @param bb bitboard of squares to move.
+     * @return bitboard of the destination squares that lie on the board.
+     */
+    public static int backwardLeft(int bb){
+        return ((bb & EVEN_ROWS) >>> 4) | ((bb & ODD_ROWS & ~COLUMN_7) >>> 3);
+    }
+
+    /**
+     * Move every square one step to (row - 1, column - 1).
+     * @param bb bitboard of squares to move.
+     * @return bitboard of the destination squares that lie on the board.
+     */
+    public static int backwardRight(int bb){
+        return ((bb & EVEN_ROWS & ~COLUMN_0) >>> 5) | ((bb & ODD_ROWS) >>> 4);
+    }
+
+    /**
+     * Convert a row and column on the 8 x 8 board into a square index.
+     * @param row row on the board, 0 - 7.
+     * @param column column on the board, 0 - 7.
+     * @return square index 0 - 31, or -1 if the square is not playable
+     *          or lies outside the board.
+     */
+    public static int squareIndex(int row, int column){
+        if(row < 0 || row > 7 || column < 0 || column > 7 || ((row + column) & 1) != 0){
+            return -1;
+        }
+        return (row << 2) | (column >> 1);
+    }
+
+    /**
+     * Row on the 8 x 8 board of a square index.
+     * @param square square index 0 - 31.
+     * @return row 0 - 7.
+     */
+    public static int row(int square){
+        return square >> 2;
+    }
+
+    /**
+     * Column on the 8 x 8 board of a square index.
+     * @param square square index 0 - 31.
+     * @return column 0 - 7.
+     */
+    public static int column(int square){
+        return ((square & 3) << 1) | ((square >> 2) & 1);
+    }
+}
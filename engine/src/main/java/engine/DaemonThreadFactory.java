@@ -0,0 +1,35 @@
+package engine;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the daemon threads of a pool, named after the pool and
+ * numbered from 1, so an idle pool never keeps the application alive.
+ */
+public final class DaemonThreadFactory implements ThreadFactory {
+
+    /** Start of the thread names.*/
+    private final String prefix;
+
+    /** Number of threads created so far.*/
+    private final AtomicInteger count = new AtomicInteger();
+
+    /**
+     * Create a factory.
+     * @param prefix start of the thread names, e.g. "perft" for perft-1, perft-2.
+     */
+    public DaemonThreadFactory(String prefix){
+        this.prefix = prefix;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Thread newThread(Runnable runnable){
+        Thread thread = new Thread(runnable, this.prefix + "-" + this.count.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+}
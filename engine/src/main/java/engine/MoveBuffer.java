@@ -0,0 +1,125 @@
+package engine;
+
+/**
+ * Caller owned, ply indexed storage for generated moves.
+ * Every ply has a fixed slice of (MAX_MOVES) packed moves, so a
+ * search can generate the moves of each ply of its current line
+ * without allocating anything once the buffer exists.
+ * A buffer must only be used by one thread.
+ */
+public final class MoveBuffer {
+
+    /** Default number of plies held by a buffer.*/
+    public static final int MAX_PLY = 128;
+
+    /** Most moves a single position can have.*/
+    public static final int MAX_MOVES = 128;
+
+    /** Packed moves, ply p uses [p * MAX_MOVES, (p + 1) * MAX_MOVES).*/
+    private final long[] moves;
+
+    /** Number of moves stored for each ply.*/
+    private final int[] counts;
+
+    /**
+     * Create a buffer holding (MAX_PLY) plies.
+     */
+    public MoveBuffer(){
+        this(MAX_PLY);
+    }
+
+    /**
+     * Create a buffer holding a given number of plies.
+     * @param maxPly number of plies the buffer can hold.
+     */
+    public MoveBuffer(int maxPly){
+        this.moves = new long[maxPly * MAX_MOVES];
+        this.counts = new int[maxPly];
+    }
+
+    /**
+     * Number of plies this buffer can hold.
+     * @return maximum ply + 1.
+     */
+    public int getMaxPly(){
+        return this.counts.length;
+    }
+
+    /**
+     * Number of moves stored for a ply.
+     * @param ply ply of the search line.
+     * @return move count.
+     */
+    public int count(int ply){
+        return this.counts[ply];
+    }
+
+    /**
+     * Retrieve a stored move.
+     * @param ply ply of the search line.
+     * @param index index of the move, 0 - count(ply) - 1.
+     * @return packed move.
+     */
+    public long get(int ply, int index){
+        return this.moves[ply * MAX_MOVES + index];
+    }
+
+    /**
+     * Determine if a move is stored for a ply, such as whether
+     * a move is among the legal moves generated for a position.
+     * @param ply ply of the search line.
+     * @param move packed move, its exact capture sequence included.
+     * @return true if found.
+     */
+    public boolean contains(int ply, long move){
+        int base = ply * MAX_MOVES;
+        for(int i = base, end = base + this.counts[ply]; i < end; i++){
+            if(this.moves[i] == move){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Exchange two moves of a ply, used when ordering moves.
+     * @param ply ply of the search line.
+     * @param i index of the first move.
+     * @param j index of the second move.
+     */
+    public void swap(int ply, int i, int j){
+        int base = ply * MAX_MOVES;
+        long move = this.moves[base + i];
+        this.moves[base + i] = this.moves[base + j];
+        this.moves[base + j] = move;
+    }
+
+    /**
+     * Remove all moves of a ply.
+     * @param ply ply of the search line.
+     */
+    void clear(int ply){
+        this.counts[ply] = 0;
+    }
+
+    /**
+     * Append a move to a ply.
+     * @param ply ply of the search line.
+     * @param move packed move.
+     */
+    void add(int ply, long move){
+        this.moves[ply * MAX_MOVES + this.counts[ply]++] = move;
+    }
+
+    /**
+     * Append a move to a ply unless the same move is already stored.
+     * Kings can reach the same capture sequence along different paths.
+     * @param ply ply of the search line.
+     * @param move packed move.
+     */
+    void addUnique(int ply, long move){
+        if(!contains(ply, move)){
+            add(ply, move);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package engine;
+
+/**
+ * Generates all legal moves of a position into a MoveBuffer
+ * with shift-and-mask operations on the bitboards.
+ * Jumps are mandatory, so when the side to move has a jump
+ * only jumps are generated. Each jump is a complete capture
+ * sequence, every branch of a multi jump is its own move and a
+ * man that is promoted ends its sequence on the far row.
+ * Nothing is allocated per call.
+ */
+public final class MoveGenerator {
+
+    /** Direction (row + 1, column + 1).*/
+    static final int FORWARD_LEFT = 0;
+
+    /** Direction (row + 1, column - 1).*/
+    static final int FORWARD_RIGHT = 1;
+
+    /** Direction (row - 1, column + 1).*/
+    static final int BACKWARD_LEFT = 2;
+
+    /** Direction (row - 1, column - 1).*/
+    static final int BACKWARD_RIGHT = 3;
+
+    /**
+     * Static helpers only.
+     */
+    private MoveGenerator(){
+    }
+
+    /**
+     * Generate every legal move of the side to move.
+     * @param position position to generate moves for.
+     * @param buffer buffer receiving the moves.
+     * @param ply ply slice of the buffer to fill.
+     * @return number of moves generated, 0 if the side to move has lost.
+     */
+    public static int generate(Position position, MoveBuffer buffer, int ply){
+        if(generateJumps(position, buffer, ply) == 0){
+            generateMoves(position, buffer, ply);
+        }
+        return buffer.count(ply);
+    }
+
+    /**
+     * Generate only the jumps of the side to move.
+     * @param position position to generate jumps for.
+     * @param buffer buffer receiving the jumps.
+     * @param ply ply slice of the buffer to fill.
+     * @return number of jumps generated.
+     */
+    public static int generateJumps(Position position, MoveBuffer buffer, int ply){
+        buffer.clear(ply);
+        int side = position.getSideToMove();
+        int jumpers = position.jumpers(side);
+        if(jumpers == 0){
+            return 0;
+        }
+        int opponent = position.getPieces(Position.opponent(side));
+        int empty = position.getEmpty();
+        int kings = position.getKings();
+        while(jumpers != 0){
+            int from = Integer.numberOfTrailingZeros(jumpers);
+            jumpers &= jumpers - 1;
+            /*The jumping piece has left its square, a king may pass it again.*/
+            addJumps(buffer, ply, side, (kings & (1 << from)) != 0, from, from,
+                    0, opponent, empty | (1 << from));
+        }
+        return buffer.count(ply);
+    }
+
+    /**
+     * Generate only the normal (non jump) moves of the side to move.
+     * @param position position to generate moves for.
+     * @param buffer buffer receiving the moves.
+     * @param ply ply slice of the buffer to fill.
+     * @return number of moves generated.
+     */
+    public static int generateMoves(Position position, MoveBuffer buffer, int ply){
+        buffer.clear(ply);
+        int side = position.getSideToMove();
+        int pieces = position.getPieces(side);
+        int empty = position.getEmpty();
+        int kings = position.getKings();
+        int forward = side == Position.WHITE ? pieces : pieces & kings;
+        int backward = side == Position.BLACK ? pieces : pieces & kings;
+        addMoves(buffer, ply, side, kings, forward, empty, FORWARD_LEFT);
+        addMoves(buffer, ply, side, kings, forward, empty, FORWARD_RIGHT);
+        addMoves(buffer, ply, side, kings, backward, empty, BACKWARD_LEFT);
+        addMoves(buffer, ply, side, kings, backward, empty, BACKWARD_RIGHT);
+        return buffer.count(ply);
+    }
+
+    /**
+     * Add the normal moves of all pieces in one direction.
+     * @param buffer buffer receiving the moves.
+     * @param ply ply slice of the buffer.
+     * @param side side that moves.
+     * @param kings bitboard of all kings.
+     * @param movers pieces allowed to move in this direction.
+     * @param empty empty squares.
+     * @param direction one of the direction constants.
+     */
+    private static void addMoves(MoveBuffer buffer, int ply, int side, int kings,
+                                 int movers, int empty, int direction){
+        int targets = step(movers, direction) & empty;
+        int back = reverse(direction);
+        while(targets != 0){
+            int to = Integer.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            int from = Integer.numberOfTrailingZeros(step(1 << to, back));
+            buffer.add(ply, Moves.encode(from, to, 0, promotionFlag(side, kings, from, to)));
+        }
+    }
+
+    /**
+     * Follow every capture sequence of one piece from a square and
+     * add each completed sequence as a move. Captured pieces stay on
+     * the board until the move is made, so they block landing squares
+     * but cannot be jumped twice.
+     * @param buffer buffer receiving the jumps.
+     * @param ply ply slice of the buffer.
+     * @param side side that moves.
+     * @param king true if the jumping piece is a king.
+     * @param from square the piece started the sequence on.
+     * @param square square the piece has reached so far.
+     * @param captured squares captured so far.
+     * @param opponent opponent pieces.
+     * @param empty empty squares.
+     */
+    private static void addJumps(MoveBuffer buffer, int ply, int side, boolean king, int from,
+                                 int square, int captured, int opponent, int empty){
+        int bb = 1 << square;
+        boolean extended = false;
+        for(int direction = FORWARD_LEFT; direction <= BACKWARD_RIGHT; direction++){
+            if(!king && !isManDirection(side, direction)){
+                continue;
+            }
+            int over = step(bb, direction) & opponent & ~captured;
+            if(over == 0){
+                continue;
+            }
+            int land = step(over, direction) & empty;
+            if(land == 0){
+                continue;
+            }
+            extended = true;
+            int to = Integer.numberOfTrailingZeros(land);
+            if(!king && Position.isPromotionSquare(side, to)){
+                /*Promotion ends the sequence.*/
+                buffer.addUnique(ply, Moves.encode(from, to, captured | over, Moves.JUMP | Moves.PROMOTION));
+            }else{
+                addJumps(buffer, ply, side, king, from, to, captured | over, opponent, empty);
+            }
+        }
+        if(!extended && captured != 0){
+            buffer.addUnique(ply, Moves.encode(from, square, captured, Moves.JUMP));
+        }
+    }
+
+    /**
+     * Determine if men of a side may move in a direction.
+     * @param side WHITE or BLACK.
+     * @param direction one of the direction constants.
+     * @return true for forward directions of white and backward directions of black.
+     */
+    private static boolean isManDirection(int side, int direction){
+        return side == Position.WHITE ? direction <= FORWARD_RIGHT : direction >= BACKWARD_LEFT;
+    }
+
+    /**
+     * Promotion flag of a man reaching the far row.
+     * @param side side that moves.
+     * @param kings bitboard of all kings.
+     * @param from square the piece leaves.
+     * @param to square the piece lands on.
+     * @return Moves.PROMOTION or 0.
+     */
+    private static long promotionFlag(int side, int kings, int from, int to){
+        if((kings & (1 << from)) == 0 && Position.isPromotionSquare(side, to)){
+            return Moves.PROMOTION;
+        }
+        return 0;
+    }
+
+    /**
+     * Move a bitboard one step in a direction.
+     * @param bb squares to move.
+     * @param direction one of the direction constants.
+     * @return destination squares on the board.
+     */
+    static int step(int bb, int direction){
+        switch(direction){
+            case FORWARD_LEFT:
+                return Bitboards.forwardLeft(bb);
+            case FORWARD_RIGHT:
+                return Bitboards.forwardRight(bb);
+            case BACKWARD_LEFT:
+                return Bitboards.backwardLeft(bb);
+            default:
+                return Bitboards.backwardRight(bb);
+        }
+    }
+
+    /**
+     * Opposite of a direction.
+     * @param direction one of the direction constants.
+     * @return direction pointing the other way.
+     */
+    static int reverse(int direction){
+        return direction ^ 3;
+    }
+}
@@ -0,0 +1,129 @@
+package engine;
+
+/**
+ * Helpers for moves packed into a single long.
+ * Bits 0 - 31 hold the mask of captured squares,
+ * bits 32 - 36 hold the square the piece leaves,
+ * bits 37 - 41 hold the square the piece lands on,
+ * bit 42 is set for jumps and bit 43 when a man is promoted.
+ * A jump holds the complete capture sequence, however many
+ * pieces it takes, so applying it is always one atomic step.
+ */
+public final class Moves {
+
+    /** Returned when no move is available.*/
+    public static final long NO_MOVE = 0L;
+
+    /** Flag of a jump move.*/
+    public static final long JUMP = 1L << 42;
+
+    /** Flag of a move that promotes a man to a king.*/
+    public static final long PROMOTION = 1L << 43;
+
+    /**
+     * Static helpers only.
+     */
+    private Moves(){
+    }
+
+    /**
+     * Pack a normal move.
+     * @param from square the piece leaves.
+     * @param to square the piece lands on.
+     * @return packed move.
+     */
+    public static long encode(int from, int to){
+        return ((long) from << 32) | ((long) to << 37);
+    }
+
+    /**
+     * Pack a move with captures and flags.
+     * @param from square the piece leaves.
+     * @param to square the piece lands on.
+     * @param captured bitboard of the squares of captured pieces.
+     * @param flags JUMP and/or PROMOTION, or 0.
+     * @return packed move.
+     */
+    public static long encode(int from, int to, int captured, long flags){
+        return (captured & 0xFFFFFFFFL) | ((long) from << 32) | ((long) to << 37) | flags;
+    }
+
+    /**
+     * Square the piece leaves.
+     * @param move packed move.
+     * @return square index 0 - 31.
+     */
+    public static int from(long move){
+        return (int) (move >>> 32) & 0x1F;
+    }
+
+    /**
+     * Square the piece lands on.
+     * @param move packed move.
+     * @return square index 0 - 31.
+     */
+    public static int to(long move){
+        return (int) (move >>> 37) & 0x1F;
+    }
+
+    /**
+     * Squares of the pieces captured by a move.
+     * @param move packed move.
+     * @return bitboard of captured squares, 0 for normal moves.
+     */
+    public static int captured(long move){
+        return (int) move;
+    }
+
+    /**
+     * Determine if a move is a jump.
+     * @param move packed move.
+     * @return true for jumps.
+     */
+    public static boolean isJump(long move){
+        return (move & JUMP) != 0;
+    }
+
+    /**
+     * Determine if a move promotes a man.
+     * @param move packed move.
+     * @return true if the moving man becomes a king.
+     */
+    public static boolean isPromotion(long move){
+        return (move & PROMOTION) != 0;
+    }
+
+    /**
+     * Readable form of a move using the standard square numbers
+     * (see squareNumber), "11-15" for a move and "15x24" for a jump.
+     * @param move packed move.
+     * @return move text.
+     */
+    public static String toString(long move){
+        if(move == NO_MOVE){
+            return "none";
+        }
+        return squareNumber(from(move)) + (isJump(move) ? "x" : "-") + squareNumber(to(move));
+    }
+
+    /**
+     * Number of a square in the standard notation used by FEN and
+     * published games, black starting on 1 - 12 and white on 21 - 32.
+     * The standard board is this board upside down, so the row is
+     * flipped while the squares of a row keep their order.
+     * @param square square index.
+     * @return square number, 1 - 32.
+     */
+    public static int squareNumber(int square){
+        return (square ^ 0x1C) + 1;
+    }
+
+    /**
+     * Square of a standard square number, see squareNumber.
+     * @param number square number, 1 - 32.
+     * @return square index.
+     */
+    public static int numberedSquare(int number){
+        return (number - 1) ^ 0x1C;
+    }
+}
@@ -0,0 +1,232 @@
+package engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Headless perft tool: counts the leaf nodes of the move tree to a depth
+ * with MoveGenerator, the generator the game and the computer players
+ * use, so the counts verify move generation and the timing measures it.
+ * Counts from the start position are checked against the published
+ * checkers perft numbers.
+ * <p>
+ * The root moves may be split across a thread pool, each thread walks
+ * its own copy of the position. Subtree counts may be kept in a hash
+ * table shared by the threads without locks: each entry stores its key
+ * XORed with its data, so an entry torn by two threads writing at once
+ * fails the check and is treated as a miss.
+ */
+public final class Perft {
+
+    /** Published perft counts of the start position, index is the depth.*/
+    static final long[] START_COUNTS = {
+            1L, 7L, 49L, 302L, 1469L, 7361L, 36768L, 179740L, 845931L,
+            3963680L, 18391564L, 85242128L, 388623673L
+    };
+
+    /** Depth counted by default.*/
+    public static final int DEFAULT_DEPTH = 10;
+
+    /** Smallest subtree depth stored in the hash table, shallower subtrees are cheaper to count.*/
+    private static final int MIN_HASH_DEPTH = 2;
+
+    /** Hash table entries: check word and data per entry, null without a table.*/
+    private final long[] table;
+
+    /** Mask of the entry index.*/
+    private final int mask;
+
+    /** Number of threads the root moves are split across.*/
+    private final int threads;
+
+    /**
+     * Create a perft counter.
+     * @param threads number of threads the root moves are split across, 1 to count on the caller.
+     * @param hashMb megabytes of hash table, 0 to count without one.
+     */
+    public Perft(int threads, int hashMb){
+        this.threads = Math.max(1, threads);
+        if(hashMb > 0){
+            long entries = Long.highestOneBit(((long) hashMb << 20) / 16);
+            entries = Math.min(entries, 1L << 29);
+            this.table = new long[(int) entries * 2];
+            this.mask = (int) entries - 1;
+        }else{
+            this.table = null;
+            this.mask = 0;
+        }
+    }
+
+    /**
+     * Count to increasing depths and print nodes, time and nodes per second.
+     * Usage: Perft [depth] [threads] [hashMb] [fen]
+     * @param args command line arguments.
+     * @throws Exception if counting fails.
+     */
+    public static void main(String[] args) throws Exception{
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_DEPTH;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int hashMb = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+        Position position = args.length > 3 ? Position.fromFen(args[3]) : Position.startPosition();
+        /*The standard start FEN has black to move, the counts are the same either way.*/
+        Position startPosition = Position.startPosition();
+        boolean start = position.getWhite() == startPosition.getWhite()
+                && position.getBlack() == startPosition.getBlack() && position.getKings() == 0;
+        System.out.println(position.toFen());
+        boolean failed = false;
+        for(int d = 1; d <= depth; d++){
+            Perft perft = new Perft(threads, hashMb);
+            long begin = System.nanoTime();
+            long nodes = perft.count(position, d);
+            long nanos = Math.max(1, System.nanoTime() - begin);
+            String check = "";
+            if(start && d < START_COUNTS.length){
+                boolean ok = nodes == START_COUNTS[d];
+                failed |= !ok;
+                check = ok ? "  ok" : "  MISMATCH, expected " + START_COUNTS[d];
+            }
+            System.out.printf("perft %2d %14d nodes %9d ms %12d nps%s%n",
+                    d, nodes, nanos / 1000000, nodes * 1000000000L / nanos, check);
+        }
+        if(failed){
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Count the leaf nodes to a depth.
+     * @param position position to count from, left unchanged.
+     * @param depth number of plies.
+     * @return number of leaves.
+     * @throws InterruptedException if interrupted while waiting for the threads.
+     */
+    public long count(Position position, int depth) throws InterruptedException{
+        if(depth <= 1 || this.threads == 1){
+            return count(new Position(position), new MoveBuffer(depth + 1), 0, depth);
+        }
+        MoveBuffer rootMoves = new MoveBuffer(1);
+        int moveCount = MoveGenerator.generate(position, rootMoves, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(this.threads, new DaemonThreadFactory("perft"));
+        try{
+            List<Future<Long>> results = new ArrayList<Future<Long>>();
+            for(int i = 0; i < moveCount; i++){
+                Position child = new Position(position);
+                child.makeMove(rootMoves.get(0, i));
+                results.add(executor.submit(new SubtreeCounter(this, child, depth - 1)));
+            }
+            long nodes = 0;
+            for(Future<Long> result : results){
+                nodes += result.get();
+            }
+            return nodes;
+        }catch(ExecutionException e){
+            throw new IllegalStateException("Perft failed", e.getCause());
+        }finally{
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Count the leaf nodes below a position, the moves at depth 1 are counted in bulk.
+     * @param position position to count from, restored before returning.
+     * @param buffer move buffer of the calling thread.
+     * @param ply ply slice of the buffer to generate into.
+     * @param depth number of plies left.
+     * @return number of leaves.
+     */
+    long count(Position position, MoveBuffer buffer, int ply, int depth){
+        if(depth == 0){
+            return 1;
+        }
+        int moveCount = MoveGenerator.generate(position, buffer, ply);
+        if(depth == 1){
+            return moveCount;
+        }
+        boolean hashed = this.table != null && depth >= MIN_HASH_DEPTH;
+        long key = position.getHash();
+        if(hashed){
+            long stored = probe(key, depth);
+            if(stored >= 0){
+                return stored;
+            }
+        }
+        long nodes = 0;
+        for(int i = 0; i < moveCount; i++){
+            position.makeMove(buffer.get(ply, i));
+            nodes += count(position, buffer, ply + 1, depth - 1);
+            position.unmakeMove();
+        }
+        if(hashed){
+            store(key, depth, nodes);
+        }
+        return nodes;
+    }
+
+    /**
+     * Look up the count of a subtree.
+     * @param key Zobrist hash of the position.
+     * @param depth depth of the subtree.
+     * @return stored count, -1 on a miss.
+     */
+    private long probe(long key, int depth){
+        int index = ((int) key & this.mask) << 1;
+        long data = this.table[index + 1];
+        if((this.table[index] ^ data) == key && (data & 0xFF) == depth){
+            return data >>> 8;
+        }
+        return -1;
+    }
+
+    /**
+     * Store the count of a subtree, replacing whatever the entry held.
+     * @param key Zobrist hash of the position.
+     * @param depth depth of the subtree.
+     * @param nodes number of leaves.
+     */
+    private void store(long key, int depth, long nodes){
+        int index = ((int) key & this.mask) << 1;
+        long data = (nodes << 8) | depth;
+        this.table[index] = key ^ data;
+        this.table[index + 1] = data;
+    }
+
+    /**
+     * Counts the subtree of one root move on a pool thread.
+     */
+    private static class SubtreeCounter implements Callable<Long> {
+
+        /** Counter sharing its hash table.*/
+        private final Perft perft;
+
+        /** Position after the root move, owned by this task.*/
+        private final Position position;
+
+        /** Number of plies left.*/
+        private final int depth;
+
+        /**
+         * Create a subtree task.
+         * @param perft counter sharing its hash table.
+         * @param position position after the root move.
+         * @param depth number of plies left.
+         */
+        SubtreeCounter(Perft perft, Position position, int depth){
+            this.perft = perft;
+            this.position = position;
+            this.depth = depth;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Long call(){
+            return this.perft.count(this.position, new MoveBuffer(this.depth + 1), 0, this.depth);
+        }
+    }
+}
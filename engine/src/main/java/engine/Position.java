@@ -0,0 +1,622 @@
+package engine;
+
+import java.util.Arrays;
+
+/**
+ * Headless checker position. The 32 playable squares are packed
+ * into int bitboards (see Bitboards) for white pieces, black pieces
+ * and kings, so rule checks are a handful of shifts and masks
+ * instead of a walk over the Swing board squares and checkers.
+ * White starts on rows 0 - 2 and men move forward (towards row 7),
+ * black starts on rows 5 - 7 and men move backward (towards row 0).
+ * Moves are made and unmade in place, every made move is pushed on
+ * a preallocated undo stack so a search never copies the position.
+ * The Zobrist hash (see Zobrist) is kept up to date by every change.
+ */
+public class Position {
+
+    /** Side index of the white pieces.*/
+    public static final int WHITE = 0;
+
+    /** Side index of the black pieces.*/
+    public static final int BLACK = 1;
+
+    /** Starting squares of the 12 white men, rows 0 - 2.*/
+    public static final int WHITE_START = 0x00000FFF;
+
+    /** Starting squares of the 12 black men, rows 5 - 7.*/
+    public static final int BLACK_START = 0xFFF00000;
+
+    /** Bitboard of all white pieces, men and kings.*/
+    private int white;
+
+    /** Bitboard of all black pieces, men and kings.*/
+    private int black;
+
+    /** Bitboard of all kings, white and black.*/
+    private int kings;
+
+    /** Side to move, WHITE or BLACK.*/
+    private int sideToMove = WHITE;
+
+    /** Zobrist hash of the pieces and side to move.*/
+    private long hash;
+
+    /** Initial capacity of the undo stack, grown if a game gets longer.*/
+    private static final int UNDO_CAPACITY = 256;
+
+    /** Undo stack, moves that have been made.*/
+    private long[] undoMoves = new long[UNDO_CAPACITY];
+
+    /** Undo stack, kings among the captured pieces of each move.*/
+    private int[] undoCapturedKings = new int[UNDO_CAPACITY];
+
+    /** Undo stack, hash of the position before each move.*/
+    private long[] undoHashes = new long[UNDO_CAPACITY];
+
+    /** Number of made moves on the undo stack.*/
+    private int undoTop;
+
+    /** Number of valid entries on the undo stack, the entries from
+     * undoTop up to undoSize are unmade moves that can be redone.*/
+    private int undoSize;
+
+    /**
+     * Create an empty position with white to move.
+     */
+    public Position(){
+    }
+
+    /**
+     * Create a copy of another position.
+     * Only the pieces and side to move are copied,
+     * the copy starts with an empty undo stack.
+     * @param other position to copy.
+     */
+    public Position(Position other){
+        this.white = other.white;
+        this.black = other.black;
+        this.kings = other.kings;
+        this.sideToMove = other.sideToMove;
+        this.hash = other.hash;
+    }
+
+    /**
+     * Create a position with the standard 12 pieces per side
+     * and white to move.
+     * @return new start position.
+     */
+    public static Position startPosition(){
+        Position position = new Position();
+        position.white = WHITE_START;
+        position.black = BLACK_START;
+        position.hash = Zobrist.hash(position);
+        return position;
+    }
+
+    /**
+     * Replace every piece and the side to move at once.
+     * The undo stack is emptied, so a position can be reused
+     * for many unrelated positions without allocating.
+     * @param white bitboard of all white pieces.
+     * @param black bitboard of all black pieces.
+     * @param kings bitboard of all kings, a subset of white | black.
+     * @param side side to move, WHITE or BLACK.
+     */
+    public void setPieces(int white, int black, int kings, int side){
+        this.white = white;
+        this.black = black;
+        this.kings = kings;
+        this.sideToMove = side;
+        this.undoTop = 0;
+        this.undoSize = 0;
+        this.hash = Zobrist.hash(this);
+    }
+
+    /**
+     * Opponent of the given side.
+     * @param side WHITE or BLACK.
+     * @return BLACK or WHITE.
+     */
+    public static int opponent(int side){
+        return side ^ 1;
+    }
+
+    /**
+     * Retrieve the bitboard of white pieces.
+     * @return white men and kings.
+     */
+    public int getWhite(){
+        return this.white;
+    }
+
+    /**
+     * Retrieve the bitboard of black pieces.
+     * @return black men and kings.
+     */
+    public int getBlack(){
+        return this.black;
+    }
+
+    /**
+     * Retrieve the bitboard of kings of both colors.
+     * @return all kings.
+     */
+    public int getKings(){
+        return this.kings;
+    }
+
+    /**
+     * Retrieve the pieces of one side.
+     * @param side WHITE or BLACK.
+     * @return bitboard of that side's men and kings.
+     */
+    public int getPieces(int side){
+        return side == WHITE ? this.white : this.black;
+    }
+
+    /**
+     * Retrieve the bitboard of empty playable squares.
+     * @return empty squares.
+     */
+    public int getEmpty(){
+        return ~(this.white | this.black);
+    }
+
+    /**
+     * Retrieve the side to move.
+     * @return WHITE or BLACK.
+     */
+    public int getSideToMove(){
+        return this.sideToMove;
+    }
+
+    /**
+     * Assign the side to move.
+     * @param side WHITE or BLACK.
+     */
+    public void setSideToMove(int side){
+        if(side != this.sideToMove){
+            this.hash ^= Zobrist.BLACK_TO_MOVE;
+        }
+        this.sideToMove = side;
+    }
+
+    /**
+     * Retrieve the Zobrist hash of this position.
+     * @return 64-bit key of the pieces and side to move.
+     */
+    public long getHash(){
+        return this.hash;
+    }
+
+    /**
+     * Retrieve the color of the piece on a square.
+     * @param square square index 0 - 31.
+     * @return WHITE, BLACK or -1 if the square is empty.
+     */
+    public int colorAt(int square){
+        int bit = 1 << square;
+        if((this.white & bit) != 0){
+            return WHITE;
+        }
+        if((this.black & bit) != 0){
+            return BLACK;
+        }
+        return -1;
+    }
+
+    /**
+     * Determine if the piece on a square is a king.
+     * @param square square index 0 - 31.
+     * @return true if a king resides on the square.
+     */
+    public boolean isKing(int square){
+        return (this.kings & (1 << square)) != 0;
+    }
+
+    /**
+     * Place a piece on an empty square.
+     * @param square square index 0 - 31.
+     * @param side WHITE or BLACK.
+     * @param king true to place a king, false for a man.
+     */
+    public void placePiece(int square, int side, boolean king){
+        int bit = 1 << square;
+        if(side == WHITE){
+            this.white |= bit;
+        }else{
+            this.black |= bit;
+        }
+        if(king){
+            this.kings |= bit;
+        }
+        this.hash ^= Zobrist.piece(side, king, square);
+    }
+
+    /**
+     * Remove whatever piece is on a square.
+     * @param square square index 0 - 31.
+     */
+    public void removePiece(int square){
+        int side = colorAt(square);
+        if(side < 0){
+            return;
+        }
+        this.hash ^= Zobrist.piece(side, isKing(square), square);
+        int bit = ~(1 << square);
+        this.white &= bit;
+        this.black &= bit;
+        this.kings &= bit;
+    }
+
+    /**
+     * Move the piece on one square to another square,
+     * keeping its color and king flag.
+     * @param from square the piece leaves.
+     * @param to square the piece lands on.
+     */
+    public void movePiece(int from, int to){
+        int side = colorAt(from);
+        boolean king = isKing(from);
+        this.hash ^= Zobrist.piece(side, king, from) ^ Zobrist.piece(side, king, to);
+        int fromTo = (1 << from) ^ (1 << to);
+        if(side == WHITE){
+            this.white ^= fromTo;
+        }else{
+            this.black ^= fromTo;
+        }
+        if(king){
+            this.kings ^= fromTo;
+        }
+    }
+
+    /**
+     * Make a move of the side to move and hand the turn to the opponent.
+     * The moving piece lands, every captured piece is removed and
+     * a promoted man becomes a king in one step. The move is pushed
+     * on the undo stack and any moves that could be redone are dropped.
+     * @param move packed move (see Moves) legal in this position.
+     */
+    public void makeMove(long move){
+        if(this.undoTop == this.undoMoves.length){
+            this.undoMoves = Arrays.copyOf(this.undoMoves, this.undoTop * 2);
+            this.undoCapturedKings = Arrays.copyOf(this.undoCapturedKings, this.undoTop * 2);
+            this.undoHashes = Arrays.copyOf(this.undoHashes, this.undoTop * 2);
+        }
+        this.undoMoves[this.undoTop] = move;
+        this.undoCapturedKings[this.undoTop] = Moves.captured(move) & this.kings;
+        this.undoHashes[this.undoTop] = this.hash;
+        this.undoTop++;
+        this.undoSize = this.undoTop;
+        applyMove(move);
+    }
+
+    /**
+     * Take back the last made move and hand the turn back.
+     * The moving piece returns (as a man if it was promoted by
+     * the move), every captured piece is put back and the hash
+     * is restored from the undo stack.
+     */
+    public void unmakeMove(){
+        this.undoTop--;
+        long move = this.undoMoves[this.undoTop];
+        int capturedKings = this.undoCapturedKings[this.undoTop];
+        this.hash = this.undoHashes[this.undoTop];
+        this.sideToMove ^= 1;
+        int from = Moves.from(move);
+        int to = Moves.to(move);
+        if(Moves.isPromotion(move)){
+            this.kings &= ~(1 << to);
+        }
+        int fromTo = (1 << from) ^ (1 << to);
+        if(this.sideToMove == WHITE){
+            this.white ^= fromTo;
+        }else{
+            this.black ^= fromTo;
+        }
+        if((this.kings & (1 << to)) != 0){
+            this.kings ^= fromTo;
+        }
+        int captured = Moves.captured(move);
+        if(captured != 0){
+            if(this.sideToMove == WHITE){
+                this.black |= captured;
+            }else{
+                this.white |= captured;
+            }
+            this.kings |= capturedKings;
+        }
+    }
+
+    /**
+     * Make again the last move taken back by unmakeMove, as long
+     * as no other move has been made since.
+     */
+    public void redoMove(){
+        long move = this.undoMoves[this.undoTop];
+        this.undoCapturedKings[this.undoTop] = Moves.captured(move) & this.kings;
+        this.undoHashes[this.undoTop] = this.hash;
+        this.undoTop++;
+        applyMove(move);
+    }
+
+    /**
+     * Determine if there is a made move to take back.
+     * @return true if unmakeMove can be called.
+     */
+    public boolean canUndo(){
+        return this.undoTop > 0;
+    }
+
+    /**
+     * Determine if there is an unmade move to make again.
+     * @return true if redoMove can be called.
+     */
+    public boolean canRedo(){
+        return this.undoTop < this.undoSize;
+    }
+
+    /**
+     * Number of moves made on this position and not taken back.
+     * @return depth of the undo stack.
+     */
+    public int getPly(){
+        return this.undoTop;
+    }
+
+    /**
+     * Apply a move to the bitboards and switch the side to move.
+     * The hash is updated for the moving piece, its promotion,
+     * every captured piece and the side to move.
+     * @param move packed move legal in this position.
+     */
+    private void applyMove(long move){
+        int side = this.sideToMove;
+        int from = Moves.from(move);
+        int to = Moves.to(move);
+        boolean king = (this.kings & (1 << from)) != 0;
+        boolean promotion = Moves.isPromotion(move);
+        long newHash = this.hash ^ Zobrist.BLACK_TO_MOVE
+                ^ Zobrist.piece(side, king, from)
+                ^ Zobrist.piece(side, king || promotion, to);
+        int fromTo = (1 << from) ^ (1 << to);
+        if(side == WHITE){
+            this.white ^= fromTo;
+        }else{
+            this.black ^= fromTo;
+        }
+        if(king){
+            this.kings ^= fromTo;
+        }
+        int captured = Moves.captured(move);
+        if(captured != 0){
+            int opponent = side ^ 1;
+            int remaining = captured;
+            while(remaining != 0){
+                int square = Integer.numberOfTrailingZeros(remaining);
+                remaining &= remaining - 1;
+                newHash ^= Zobrist.piece(opponent, (this.kings & (1 << square)) != 0, square);
+            }
+            if(side == WHITE){
+                this.black &= ~captured;
+            }else{
+                this.white &= ~captured;
+            }
+            this.kings &= ~captured;
+        }
+        if(promotion){
+            this.kings |= 1 << to;
+        }
+        this.hash = newHash;
+        this.sideToMove = side ^ 1;
+    }
+
+    /**
+     * Promote the piece on a square to a king.
+     * @param square square index 0 - 31.
+     */
+    public void promote(int square){
+        int side = colorAt(square);
+        if(side < 0 || isKing(square)){
+            return;
+        }
+        this.hash ^= Zobrist.piece(side, false, square) ^ Zobrist.piece(side, true, square);
+        this.kings |= 1 << square;
+    }
+
+    /**
+     * Determine if a man of the given side landing on a square is promoted.
+     * @param side WHITE or BLACK.
+     * @param square landing square.
+     * @return true if the square is on the far row for that side.
+     */
+    public static boolean isPromotionSquare(int side, int square){
+        return ((side == WHITE ? Bitboards.ROW_7 : Bitboards.ROW_0) & (1 << square)) != 0;
+    }
+
+    /**
+     * Squares a single piece can reach with a normal one square move.
+     * @param square square of the piece.
+     * @return bitboard of empty destinations, 0 if the square is empty.
+     */
+    public int moveTargets(int square){
+        int side = colorAt(square);
+        if(side < 0){
+            return 0;
+        }
+        int bb = 1 << square;
+        int empty = getEmpty();
+        int targets = 0;
+        if(side == WHITE || isKing(square)){
+            targets |= Bitboards.forwardLeft(bb) | Bitboards.forwardRight(bb);
+        }
+        if(side == BLACK || isKing(square)){
+            targets |= Bitboards.backwardLeft(bb) | Bitboards.backwardRight(bb);
+        }
+        return targets & empty;
+    }
+
+    /**
+     * Squares a single piece can land on with a single jump.
+     * @param square square of the piece.
+     * @return bitboard of landing squares, 0 if the square is empty.
+     */
+    public int jumpTargets(int square){
+        int side = colorAt(square);
+        if(side < 0){
+            return 0;
+        }
+        int bb = 1 << square;
+        int opponent = getPieces(opponent(side));
+        int empty = getEmpty();
+        int targets = 0;
+        if(side == WHITE || isKing(square)){
+            targets |= Bitboards.forwardLeft(Bitboards.forwardLeft(bb) & opponent);
+            targets |= Bitboards.forwardRight(Bitboards.forwardRight(bb) & opponent);
+        }
+        if(side == BLACK || isKing(square)){
+            targets |= Bitboards.backwardLeft(Bitboards.backwardLeft(bb) & opponent);
+            targets |= Bitboards.backwardRight(Bitboards.backwardRight(bb) & opponent);
+        }
+        return targets & empty;
+    }
+
+    /**
+     * Pieces of a side that have at least one normal move.
+     * @param side WHITE or BLACK.
+     * @return bitboard of movable pieces.
+     */
+    public int movers(int side){
+        int empty = getEmpty();
+        int pieces = getPieces(side);
+        int sideKings = pieces & this.kings;
+        int forward = side == WHITE ? pieces : sideKings;
+        int backward = side == BLACK ? pieces : sideKings;
+        int movers = 0;
+        movers |= forward & (Bitboards.backwardRight(empty) | Bitboards.backwardLeft(empty));
+        movers |= backward & (Bitboards.forwardRight(empty) | Bitboards.forwardLeft(empty));
+        return movers;
+    }
+
+    /**
+     * Pieces of a side that have at least one jump.
+     * @param side WHITE or BLACK.
+     * @return bitboard of pieces that can capture.
+     */
+    public int jumpers(int side){
+        int empty = getEmpty();
+        int pieces = getPieces(side);
+        int opponent = getPieces(opponent(side));
+        int sideKings = pieces & this.kings;
+        int forward = side == WHITE ? pieces : sideKings;
+        int backward = side == BLACK ? pieces : sideKings;
+        int jumpers = 0;
+        jumpers |= forward & Bitboards.backwardRight(Bitboards.backwardRight(empty) & opponent);
+        jumpers |= forward & Bitboards.backwardLeft(Bitboards.backwardLeft(empty) & opponent);
+        jumpers |= backward & Bitboards.forwardRight(Bitboards.forwardRight(empty) & opponent);
+        jumpers |= backward & Bitboards.forwardLeft(Bitboards.forwardLeft(empty) & opponent);
+        return jumpers;
+    }
+
+    /**
+     * Number of pieces of a side still on the board.
+     * @param side WHITE or BLACK.
+     * @return piece count, men and kings.
+     */
+    public int pieceCount(int side){
+        return Integer.bitCount(getPieces(side));
+    }
+
+    /**
+     * Create a position from checkers FEN text such as "B:W21,22,K31:B1,K5":
+     * the side to move, then the squares of white and of black pieces,
+     * kings prefixed with K. Squares are numbered 1 - 32 in the standard
+     * notation, black starts on squares 1 - 12 and white on 21 - 32, which
+     * is row 7 - 5 and row 0 - 2 of this board (see Moves.squareNumber).
+     * @param fen FEN text.
+     * @return new position.
+     * @throws IllegalArgumentException if the text is not valid FEN.
+     */
+    public static Position fromFen(String fen){
+        String[] fields = fen.trim().split(":");
+        if(fields.length != 3 || !(fields[0].equals("W") || fields[0].equals("B"))){
+            throw new IllegalArgumentException("Invalid FEN: " + fen);
+        }
+        Position position = new Position();
+        for(int i = 1; i < 3; i++){
+            String field = fields[i].trim();
+            if(field.isEmpty() || !(field.charAt(0) == 'W' || field.charAt(0) == 'B')){
+                throw new IllegalArgumentException("Invalid FEN: " + fen);
+            }
+            int side = field.charAt(0) == 'W' ? WHITE : BLACK;
+            for(String token : field.substring(1).split(",")){
+                token = token.trim();
+                if(token.isEmpty()){
+                    continue;
+                }
+                boolean king = token.charAt(0) == 'K';
+                int number;
+                try{
+                    number = Integer.parseInt(king ? token.substring(1) : token);
+                }catch(NumberFormatException e){
+                    throw new IllegalArgumentException("Invalid FEN: " + fen, e);
+                }
+                if(number < 1 || number > 32 || position.colorAt(Moves.numberedSquare(number)) >= 0){
+                    throw new IllegalArgumentException("Invalid FEN: " + fen);
+                }
+                position.placePiece(Moves.numberedSquare(number), side, king);
+            }
+        }
+        position.setSideToMove(fields[0].equals("W") ? WHITE : BLACK);
+        return position;
+    }
+
+    /**
+     * FEN text of this position, see fromFen.
+     * @return FEN text.
+     */
+    public String toFen(){
+        StringBuilder builder = new StringBuilder(this.sideToMove == WHITE ? "W" : "B");
+        for(int side = WHITE; side <= BLACK; side++){
+            builder.append(side == WHITE ? ":W" : ":B");
+            String separator = "";
+            for(int number = 1; number <= 32; number++){
+                int square = Moves.numberedSquare(number);
+                if(colorAt(square) == side){
+                    builder.append(separator).append(isKing(square) ? "K" : "").append(number);
+                    separator = ",";
+                }
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Debugging override to print the board, row 0 on top.
+     * w/b are men, W/B are kings.
+     * @return String of the 8 x 8 board.
+     */
+    @Override
+    public String toString(){
+        StringBuilder builder = new StringBuilder();
+        for(int row = 0; row < 8; row++){
+            for(int column = 0; column < 8; column++){
+                int square = Bitboards.squareIndex(row, column);
+                char c = '_';
+                if(square >= 0){
+                    int side = colorAt(square);
+                    if(side == WHITE){
+                        c = isKing(square) ? 'W' : 'w';
+                    }else if(side == BLACK){
+                        c = isKing(square) ? 'B' : 'b';
+                    }
+                }
+                builder.append(c).append(' ');
+            }
+            builder.append('\n');
+        }
+        builder.append(this.sideToMove == WHITE ? "WHITE" : "BLACK").append(" to move\n");
+        return builder.toString();
+    }
+}
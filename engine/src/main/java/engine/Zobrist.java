@@ -0,0 +1,88 @@
+package engine;
+
+/**
+ * Zobrist keys of a position. Every (side, piece type, square)
+ * and the side to move has a fixed random 64-bit key, the hash of
+ * a position is the XOR of the keys of everything on it.
+ * The keys come from a fixed seed so hashes are identical between
+ * runs and can be stored in files such as opening books.
+ */
+public final class Zobrist {
+
+    /** Seed of the key generator, never change it or stored hashes break.*/
+    private static final long SEED = 0x2545F4914F6CDD1DL;
+
+    /** Keys indexed by ((side * 2 + king) * 32 + square).*/
+    private static final long[] PIECE_KEYS = new long[4 * 32];
+
+    /** Key xor-ed in when black is to move.*/
+    public static final long BLACK_TO_MOVE;
+
+    static{
+        long state = SEED;
+        for(int i = 0; i < PIECE_KEYS.length; i++){
+            state = next(state);
+            PIECE_KEYS[i] = scramble(state);
+        }
+        state = next(state);
+        BLACK_TO_MOVE = scramble(state);
+    }
+
+    /**
+     * Static helpers only.
+     */
+    private Zobrist(){
+    }
+
+    /**
+     * Key of one piece on one square.
+     * @param side Position.WHITE or Position.BLACK.
+     * @param king true for a king, false for a man.
+     * @param square square index 0 - 31.
+     * @return Zobrist key.
+     */
+    public static long piece(int side, boolean king, int square){
+        return PIECE_KEYS[(((side << 1) | (king ? 1 : 0)) << 5) | square];
+    }
+
+    /**
+     * Compute the hash of a position from scratch.
+     * Position keeps its hash up to date incrementally,
+     * this is used to set it up and to verify it.
+     * @param position position to hash.
+     * @return Zobrist hash.
+     */
+    public static long hash(Position position){
+        long hash = position.getSideToMove() == Position.BLACK ? BLACK_TO_MOVE : 0L;
+        for(int side = Position.WHITE; side <= Position.BLACK; side++){
+            int pieces = position.getPieces(side);
+            while(pieces != 0){
+                int square = Integer.numberOfTrailingZeros(pieces);
+                pieces &= pieces - 1;
+                hash ^= piece(side, position.isKing(square), square);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Advance the xorshift state of the key generator.
+     * @param state current state, never 0.
+     * @return next state.
+     */
+    private static long next(long state){
+        state ^= state >>> 12;
+        state ^= state << 25;
+        state ^= state >>> 27;
+        return state;
+    }
+
+    /**
+     * Turn a xorshift state into an output key (xorshift64*).
+     * @param state generator state.
+     * @return random 64-bit key.
+     */
+    private static long scramble(long state){
+        return state * 0x2545F4914F6CDD1DL;
+    }
+}
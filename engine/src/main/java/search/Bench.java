@@ -0,0 +1,145 @@
+package search;
+
+import engine.Position;
+import tablebase.Tablebase;
+
+/**
+ * Fixed benchmark of the search: a suite of positions from every stage
+ * of the game, each searched to the same depth with a fresh table and
+ * without tablebases. The total node count depends only on what the
+ * search does, so it is a signature of the search behaviour: a change
+ * meant to leave the search alone must leave it unchanged. The nodes
+ * per second measure the speed of the build and the machine.
+ */
+public final class Bench {
+
+    /** Depth every position is searched to by default.*/
+    public static final int DEFAULT_DEPTH = 13;
+
+    /** Size of the transposition table, in megabytes.*/
+    private static final int TABLE_SIZE_MB = 16;
+
+    /** Positions of the suite, FEN as read by Position.fromFen.*/
+    static final String[] POSITIONS = {
+            "W:W21,22,23,24,25,26,27,28,29,30,31,32:B1,2,3,4,5,6,7,8,9,10,11,12",
+            "W:W19,21,22,25,27,29,30,31,32:B1,2,3,5,6,7,8,9,10",
+            "W:W21,24,25,26,27,28,29,30,32:B1,3,4,5,8,11,12,13,15",
+            "W:W10,23,25,26,27,28,29,30,31:B2,3,4,7,8,11,12,17",
+            "B:W17,20,21,22,25,29,32:B1,2,4,5,7,8,9,13",
+            "B:W13,17,21,23,27,28,32:B1,2,6,8,9,11,12",
+            "W:W22,23,26,28,29,30:B4,5,8,13,14,15",
+            "W:WK1,5,17,24,27,28,29,30:B7,12,16",
+            "B:WK1,24,27,28,30:B4,11,12,20,21,22",
+            "B:W21,23:B3,4,9,12,13,K16",
+            "W:WK4,6,19,25,28:B9,17",
+            "W:W10,11,K16,25,32:B5,21,28",
+            "B:WK5,7,11,28:B27,K30",
+            "W:WK7,18:B9,26",
+            "B:WK3,K9:B16,K24,K25,27,K31",
+            "W:WK1,K2,7:BK22,K26",
+            "B:W17,21,23,24,26,27,28,29,30,31,32:B1,3,4,5,6,7,8,9,10,12,16",
+            "B:W12,13,20,21,23,25,26,27,29,30,31,32:B1,2,3,4,5,6,7,8,11,14",
+            "B:W14,18,24,25,26,27,28,29,31,32:B1,2,3,4,5,6,7,11,13,20",
+            "B:W19,21,22,24,25,26,28,29:B1,3,4,6,7,9,11,12",
+            "B:W13,17,25,27,29,30,32:B1,2,4,5,6,9,16,19",
+            "B:WK10,18,20,28,29,30,32:B3,4,11,12,21",
+            "W:W17,21,26,30,31,32:B3,4,5,9,10,24,28",
+            "B:W21,24,31,32:B1,2,8,14,16,19,28",
+            "B:W13,19:B1,2,6,9,10,12,24,K25,K29",
+            "B:WK4,12,15,24:B2,9,K21",
+            "W:W5,9,13,16,17,20,29:B1,2,10",
+            "B:W7,15,17:B9,21,24",
+            "B:WK2,9,11,17,20,29:B19,23",
+            "W:W5,K6,9,17:B19,K27",
+            "W:WK1,K12:B5,K15",
+            "B:WK4,5,14:BK19,K31",
+            "B:W17,19,22,23,25,26,27,29,30,31,32:B1,2,3,4,5,6,7,8,9,10,12",
+            "B:W20,21,22,23,24,25,26,28,30,31,32:B1,3,4,5,7,8,10,11,12,14,15",
+            "W:W13,20,22,23,24,26,28,29,30,31,32:B1,2,3,4,6,8,9,12,14,15",
+            "B:W18,21,23,25,29,31,32:B1,2,3,4,6,8,10,20,22",
+            "W:W18,19,26,28,29,32:B1,2,4,5,6,7,8,K10,12",
+            "W:W15,21,26,28,29,30:B3,4,5,7,9,18",
+            "W:WK4,14,22,26,28,30:B1,3,7,12",
+            "B:W5,9,K12,19,21,25,26,29,31:B1,7,10",
+            "W:WK4,5,17,21,23,28,31:B6,7,15,20",
+            "B:W10,17,18,25,26:B1,5,13,19,24",
+            "W:W14,22,24:B5,11,16,23,K30",
+            "W:WK6,20,22,25,28:B5,19,K31,K32",
+            "W:WK4,K18:B5,K25",
+            "B:WK10,14,18:B20,K23,24,26,K32",
+            "B:WK4,20:BK26,K28",
+            "W:WK8,K9,K23:BK17,K30",
+            "B:W17,20,22,23,25,26,28,29,30,31,32:B1,2,3,4,5,6,7,8,9,10,12",
+            "B:W17,18,22,25,28,29,30,31,32:B1,2,3,4,5,6,7,8,9,19"
+    };
+
+    /** Depth every position is searched to.*/
+    private final int depth;
+
+    /** Total nodes of the last run.*/
+    private long nodes;
+
+    /** Time of the last run, in nanoseconds.*/
+    private long nanos;
+
+    /**
+     * Create a benchmark.
+     * @param depth depth every position is searched to.
+     */
+    public Bench(int depth){
+        this.depth = depth;
+    }
+
+    /**
+     * Run the benchmark and print the signature.
+     * Usage: Bench [depth]
+     * @param args command line arguments.
+     */
+    public static void main(String[] args){
+        Bench bench = new Bench(args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_DEPTH);
+        bench.run();
+        bench.print();
+    }
+
+    /**
+     * Search every position of the suite.
+     */
+    public void run(){
+        SearchConfig config = SearchConfig.defaults();
+        config.setTablebase(Tablebase.none());
+        this.nodes = 0;
+        long begin = System.nanoTime();
+        for(String fen : POSITIONS){
+            Search search = new Search(new TranspositionTable(TABLE_SIZE_MB), 0, config);
+            search.search(Position.fromFen(fen), this.depth);
+            this.nodes += search.getNodes();
+        }
+        this.nanos = Math.max(1, System.nanoTime() - begin);
+    }
+
+    /**
+     * Print the node count and speed of the last run.
+     */
+    public void print(){
+        System.out.println("Positions: " + POSITIONS.length + ", depth " + this.depth);
+        System.out.println("Time (ms): " + this.nanos / 1000000);
+        System.out.println("Nodes searched: " + this.nodes);
+        System.out.println("Nodes/second: " + this.nodes * 1000000000L / this.nanos);
+    }
+
+    /**
+     * Total nodes of the last run, the signature of the search.
+     * @return node count.
+     */
+    public long getNodes(){
+        return this.nodes;
+    }
+
+    /**
+     * Time of the last run.
+     * @return nanoseconds.
+     */
+    public long getNanos(){
+        return this.nanos;
+    }
+}
@@ -0,0 +1,245 @@
+package search;
+
+import engine.Bitboards;
+import engine.Moves;
+import engine.Position;
+
+/**
+ * Evaluation of a position for the search.
+ * The terms tied to single pieces (material, kings, back row guard,
+ * centre control and the advance of men) come from a table indexed by
+ * (side, piece type, square), like the Zobrist keys. An evaluator
+ * instance keeps their sum up to date as moves are made and unmade,
+ * so a leaf only adds the terms that depend on several pieces: mobility
+ * and runaway men, both counted with a few bitboard operations.
+ * Scores are in hundredths of a man, from the view of the side to move.
+ * An instance is owned by one search thread.
+ */
+public final class Evaluator {
+
+    /** Value of a man.*/
+    public static final int MAN = 100;
+
+    /** Value of a king.*/
+    public static final int KING = 150;
+
+    /** Bonus of a man still guarding its own back row.*/
+    private static final int BACK_ROW = 6;
+
+    /** Center squares (rows 2 - 5, columns 2 - 5).*/
+    private static final int CENTER = 0x00666600;
+
+    /** Bonus of a man on a center square.*/
+    private static final int MAN_CENTER = 3;
+
+    /** Bonus of a king on a center square.*/
+    private static final int KING_CENTER = 8;
+
+    /** Bonus per empty square a piece can step to.*/
+    private static final int MOBILITY = 2;
+
+    /** Bonus of a man one free step from promotion.*/
+    private static final int RUNAWAY_NEAR = 30;
+
+    /** Bonus of a man two free steps from promotion.*/
+    private static final int RUNAWAY_FAR = 15;
+
+    /** Squares of row 5.*/
+    private static final int ROW_5 = 0x00F00000;
+
+    /** Squares of row 6.*/
+    private static final int ROW_6 = 0x0F000000;
+
+    /** Squares of row 1.*/
+    private static final int ROW_1 = 0x000000F0;
+
+    /** Squares of row 2.*/
+    private static final int ROW_2 = 0x00000F00;
+
+    /** Value of every piece per ((side * 2 + king) * 32 + square), from the view of its side.*/
+    private static final int[] PIECE_VALUES = new int[4 * 32];
+
+    /** Most moves an instance can have made past its reset position.*/
+    private static final int STACK_SIZE = 256;
+
+    static{
+        for(int square = 0; square < 32; square++){
+            int row = Bitboards.row(square);
+            int center = (CENTER & (1 << square)) != 0 ? 1 : 0;
+            PIECE_VALUES[index(Position.WHITE, false, square)] = MAN + advance(row)
+                    + (row == 0 ? BACK_ROW : 0) + center * MAN_CENTER;
+            PIECE_VALUES[index(Position.BLACK, false, square)] = MAN + advance(7 - row)
+                    + (row == 7 ? BACK_ROW : 0) + center * MAN_CENTER;
+            PIECE_VALUES[index(Position.WHITE, true, square)] = KING + center * KING_CENTER;
+            PIECE_VALUES[index(Position.BLACK, true, square)] = KING + center * KING_CENTER;
+        }
+    }
+
+    /** Piece values of the made moves' earlier positions, white minus black.*/
+    private final int[] stack = new int[STACK_SIZE];
+
+    /** Number of moves made past the reset position.*/
+    private int top;
+
+    /** Sum of the piece values of the current position, white minus black.*/
+    private int pieceScore;
+
+    /**
+     * Evaluate a position from scratch.
+     * @param position position to evaluate.
+     * @return score from the view of the side to move.
+     */
+    public static int evaluate(Position position){
+        return fromSideToMove(position, pieceScore(position) + multiPieceScore(position));
+    }
+
+    /**
+     * Start tracking a position.
+     * @param position position the following moves are made on.
+     */
+    public void reset(Position position){
+        this.top = 0;
+        this.pieceScore = pieceScore(position);
+    }
+
+    /**
+     * Make a move on the tracked position, updating the piece values.
+     * @param position the tracked position.
+     * @param move packed move legal in the position.
+     */
+    public void makeMove(Position position, long move){
+        this.stack[this.top++] = this.pieceScore;
+        int side = position.getSideToMove();
+        int from = Moves.from(move);
+        int to = Moves.to(move);
+        boolean king = position.isKing(from);
+        int delta = PIECE_VALUES[index(side, king || Moves.isPromotion(move), to)]
+                - PIECE_VALUES[index(side, king, from)];
+        int opponent = side ^ 1;
+        int captured = Moves.captured(move);
+        while(captured != 0){
+            int square = Integer.numberOfTrailingZeros(captured);
+            captured &= captured - 1;
+            delta += PIECE_VALUES[index(opponent, position.isKing(square), square)];
+        }
+        this.pieceScore += side == Position.WHITE ? delta : -delta;
+        position.makeMove(move);
+    }
+
+    /**
+     * Unmake the last move made through makeMove.
+     * @param position the tracked position.
+     */
+    public void unmakeMove(Position position){
+        position.unmakeMove();
+        this.pieceScore = this.stack[--this.top];
+    }
+
+    /**
+     * Evaluate the tracked position.
+     * @param position the tracked position.
+     * @return score from the view of the side to move.
+     */
+    public int score(Position position){
+        return fromSideToMove(position, this.pieceScore + multiPieceScore(position));
+    }
+
+    /**
+     * Sum of the piece values of a position.
+     * @param position position to sum.
+     * @return white minus black.
+     */
+    private static int pieceScore(Position position){
+        int score = 0;
+        for(int side = Position.WHITE; side <= Position.BLACK; side++){
+            int pieces = position.getPieces(side);
+            int sign = side == Position.WHITE ? 1 : -1;
+            while(pieces != 0){
+                int square = Integer.numberOfTrailingZeros(pieces);
+                pieces &= pieces - 1;
+                score += sign * PIECE_VALUES[index(side, position.isKing(square), square)];
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Mobility and runaway men of both sides.
+     * @param position position to score.
+     * @return white minus black.
+     */
+    private static int multiPieceScore(Position position){
+        int empty = position.getEmpty();
+        int kings = position.getKings();
+        int white = position.getWhite();
+        int black = position.getBlack();
+        int whiteMen = white & ~kings;
+        int blackMen = black & ~kings;
+        int whiteMobility = Integer.bitCount(Bitboards.forwardLeft(white) & empty)
+                + Integer.bitCount(Bitboards.forwardRight(white) & empty)
+                + Integer.bitCount(Bitboards.backwardLeft(white & kings) & empty)
+                + Integer.bitCount(Bitboards.backwardRight(white & kings) & empty);
+        int blackMobility = Integer.bitCount(Bitboards.backwardLeft(black) & empty)
+                + Integer.bitCount(Bitboards.backwardRight(black) & empty)
+                + Integer.bitCount(Bitboards.forwardLeft(black & kings) & empty)
+                + Integer.bitCount(Bitboards.forwardRight(black & kings) & empty);
+        /*Squares from which a man steps onto an empty promotion square.*/
+        int whiteNear = stepsBackward(empty & Bitboards.ROW_7);
+        int whiteFar = stepsBackward(empty & ROW_6 & whiteNear);
+        int blackNear = stepsForward(empty & Bitboards.ROW_0);
+        int blackFar = stepsForward(empty & ROW_1 & blackNear);
+        int whiteRunaway = Integer.bitCount(whiteMen & ROW_6 & whiteNear) * RUNAWAY_NEAR
+                + Integer.bitCount(whiteMen & ROW_5 & whiteFar) * RUNAWAY_FAR;
+        int blackRunaway = Integer.bitCount(blackMen & ROW_1 & blackNear) * RUNAWAY_NEAR
+                + Integer.bitCount(blackMen & ROW_2 & blackFar) * RUNAWAY_FAR;
+        return (whiteMobility - blackMobility) * MOBILITY + whiteRunaway - blackRunaway;
+    }
+
+    /**
+     * Squares one step backward (towards row 0) of a set of squares.
+     * @param squares bitboard of squares.
+     * @return squares a forward step leads from into the set.
+     */
+    private static int stepsBackward(int squares){
+        return Bitboards.backwardLeft(squares) | Bitboards.backwardRight(squares);
+    }
+
+    /**
+     * Squares one step forward (towards row 7) of a set of squares.
+     * @param squares bitboard of squares.
+     * @return squares a backward step leads from into the set.
+     */
+    private static int stepsForward(int squares){
+        return Bitboards.forwardLeft(squares) | Bitboards.forwardRight(squares);
+    }
+
+    /**
+     * Turn a white minus black score into the view of the side to move.
+     * @param position position scored.
+     * @param score white minus black.
+     * @return score from the view of the side to move.
+     */
+    private static int fromSideToMove(Position position, int score){
+        return position.getSideToMove() == Position.WHITE ? score : -score;
+    }
+
+    /**
+     * Index of a piece in PIECE_VALUES.
+     * @param side Position.WHITE or Position.BLACK.
+     * @param king true for a king.
+     * @param square square index 0 - 31.
+     * @return table index.
+     */
+    private static int index(int side, boolean king, int square){
+        return (((side << 1) | (king ? 1 : 0)) << 5) | square;
+    }
+
+    /**
+     * Bonus of a man by how far it has advanced.
+     * @param rows rows advanced from its back row, 0 - 7.
+     * @return bonus.
+     */
+    private static int advance(int rows){
+        return rows * rows / 2;
+    }
+}
@@ -0,0 +1,454 @@
+package search;
+
+import engine.MoveBuffer;
+import engine.MoveGenerator;
+import engine.Moves;
+import engine.Position;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Deterministic parallel alpha-beta search on a ForkJoinPool, split
+ * Young Brothers Wait style: at every node deep enough to split, the
+ * eldest child is searched first, then its younger siblings are forked
+ * with the window it produced. When a sibling fails high the node is
+ * cut off and the siblings still running are cancelled.
+ * Scores are fail-hard and no transposition table is used, so every
+ * search of the same position to the same depth returns the same move,
+ * score and principal variation whatever the number of threads, which
+ * makes this mode fit for regression tests. Lazy SMP is stronger for play.
+ */
+public class ForkJoinSearch implements ISearch {
+
+    /** Remaining depth from which the children of a node are forked.*/
+    private static final int SPLIT_DEPTH = 4;
+
+    /** Nodes between two checks of the clock and cancellation, minus one.*/
+    private static final int CHECK_MASK = 1023;
+
+    /** Most capture plies the quiescence search adds below a leaf.*/
+    private static final int QUIESCENCE_MAX_DEPTH = 16;
+
+    /** Plies a worker can reach below its node, quiescence included.*/
+    private static final int WORKER_PLIES = SPLIT_DEPTH + QUIESCENCE_MAX_DEPTH + 1;
+
+    /** Scores are always inside (-INFINITY, INFINITY).*/
+    private static final int INFINITY = Search.WIN + 1;
+
+    /** Threads running the forked tasks.*/
+    private final ForkJoinPool pool;
+
+    /** Sequential searchers of the pool threads, one per thread.*/
+    private final ThreadLocal<Worker> workers = new ThreadLocal<>();
+
+    /** Positions visited by the current search.*/
+    private final LongAdder nodes = new LongAdder();
+
+    /** Clock of the current search, null when searching to a fixed depth.*/
+    private TimeManager timeManager;
+
+    /** True once the first iteration is complete and the clock may stop the search.*/
+    private volatile boolean timed;
+
+    /** Set to abort the running iteration.*/
+    private volatile boolean stopped;
+
+    /** Principal variation of the last completed iteration.*/
+    private long[] principalVariation = new long[0];
+
+    /** Score of the last completed iteration.*/
+    private int score;
+
+    /** Depth of the last completed iteration.*/
+    private int completedDepth;
+
+    /**
+     * Create a fork/join search.
+     * @param threads number of pool threads.
+     */
+    public ForkJoinSearch(int threads){
+        this.pool = new ForkJoinPool(Math.max(threads, 1));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long search(Position root, int maxDepth, TimeManager timeManager){
+        this.stopped = false;
+        this.timed = false;
+        this.timeManager = timeManager;
+        this.principalVariation = new long[0];
+        this.score = 0;
+        this.completedDepth = 0;
+        this.nodes.reset();
+        Position position = new Position(root);
+        MoveBuffer rootMoves = new MoveBuffer(1);
+        int moveCount = MoveGenerator.generate(position, rootMoves, 0);
+        if(moveCount == 0){
+            this.score = -Search.WIN;
+            return Moves.NO_MOVE;
+        }
+        if(moveCount == 1 && timeManager != null){
+            this.principalVariation = new long[]{rootMoves.get(0, 0)};
+            return getBestMove();
+        }
+        maxDepth = Math.min(maxDepth, MoveBuffer.MAX_PLY - 1);
+        for(int depth = 1; depth <= maxDepth; depth++){
+            NodeTask task = new NodeTask(this, null, position, depth, 0, -INFINITY, INFINITY, getBestMove());
+            this.pool.invoke(task);
+            if(this.stopped){
+                break;
+            }
+            this.score = task.value;
+            this.principalVariation = task.line;
+            this.completedDepth = depth;
+            this.timed = timeManager != null;
+            if(Math.abs(this.score) >= Search.WIN_THRESHOLD && depth > Search.WIN - Math.abs(this.score)){
+                break;
+            }
+            if(timeManager != null && !timeManager.nextIteration(getBestMove())){
+                break;
+            }
+        }
+        return getBestMove();
+    }
+
+    /**
+     * Determine if the running iteration must be aborted,
+     * reading the clock if it is in use.
+     * @return true if the search is stopped.
+     */
+    private boolean checkStopped(){
+        if(this.timed && this.timeManager.isHardExpired()){
+            this.stopped = true;
+        }
+        return this.stopped;
+    }
+
+    /**
+     * Sequential searcher of the current pool thread.
+     * @return worker owned by the calling thread.
+     */
+    private Worker worker(){
+        Worker worker = this.workers.get();
+        if(worker == null){
+            worker = new Worker(this);
+            this.workers.set(worker);
+        }
+        return worker;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void stop(){
+        this.stopped = true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close(){
+        this.pool.shutdownNow();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getBestMove(){
+        return this.principalVariation.length == 0 ? Moves.NO_MOVE : this.principalVariation[0];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long[] getPrincipalVariation(){
+        return this.principalVariation;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getScore(){
+        return this.score;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getCompletedDepth(){
+        return this.completedDepth;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getNodes(){
+        return this.nodes.sum();
+    }
+
+    /**
+     * Search of one node deep enough to split. The task owns its
+     * position and moves, its value is fail-hard inside (alpha, beta)
+     * and its line is set whenever the value lies strictly inside.
+     */
+    private static class NodeTask extends RecursiveAction{
+        /** Tasks are never serialized, declared for the Serializable contract.*/
+        private static final long serialVersionUID = 1L;
+        private final ForkJoinSearch search;
+        private final NodeTask parent;
+        private final Position position;
+        private final int depth;
+        private final int ply;
+        private final int alpha;
+        private final int beta;
+        private final long firstMove;
+        /** Set when a child refuted this node, the remaining children are useless.*/
+        private volatile boolean cutoff;
+        private int value;
+        private long[] line = new long[0];
+
+        NodeTask(ForkJoinSearch search, NodeTask parent, Position position,
+                 int depth, int ply, int alpha, int beta, long firstMove){
+            this.search = search;
+            this.parent = parent;
+            this.position = position;
+            this.depth = depth;
+            this.ply = ply;
+            this.alpha = alpha;
+            this.beta = beta;
+            this.firstMove = firstMove;
+        }
+
+        /**
+         * Determine if any node above this one has been cut off.
+         * @return true if the value of this node is no longer needed.
+         */
+        boolean isCutOff(){
+            for(NodeTask task = this.parent; task != null; task = task.parent){
+                if(task.cutoff){
+                    return true;
+                }
+            }
+            return this.search.stopped;
+        }
+
+        @Override
+        protected void compute() {
+            if(this.depth < SPLIT_DEPTH){
+                Worker worker = this.search.worker();
+                this.value = worker.search(this, this.position, this.depth, this.ply, this.alpha, this.beta);
+                this.line = worker.line();
+            }else{
+                split();
+            }
+            /*Failing low here refutes the parent, cancel the brothers still running.*/
+            if(this.parent != null && this.value <= this.alpha && !isCutOff()){
+                this.parent.cutoff = true;
+            }
+        }
+
+        /**
+         * Search the eldest child, then fork the younger ones.
+         */
+        private void split(){
+            this.search.nodes.increment();
+            MoveBuffer moves = new MoveBuffer(1);
+            int moveCount = MoveGenerator.generate(this.position, moves, 0);
+            if(moveCount == 0){
+                this.value = Math.max(this.alpha, Math.min(this.beta, -Search.WIN + this.ply));
+                return;
+            }
+            for(int i = 1; i < moveCount && this.firstMove != Moves.NO_MOVE; i++){
+                if(moves.get(0, i) == this.firstMove){
+                    moves.swap(0, 0, i);
+                    break;
+                }
+            }
+            /*The eldest brother is searched alone, its score narrows the window of the others.*/
+            NodeTask eldest = child(moves.get(0, 0), this.alpha, this.beta);
+            eldest.compute();
+            if(isCutOff()){
+                return;
+            }
+            int best = -eldest.value;
+            long bestMove = moves.get(0, 0);
+            long[] bestLine = eldest.line;
+            if(best >= this.beta){
+                this.value = this.beta;
+                return;
+            }
+            int window = Math.max(this.alpha, best);
+            NodeTask[] siblings = new NodeTask[moveCount - 1];
+            for(int i = 1; i < moveCount; i++){
+                siblings[i - 1] = child(moves.get(0, i), window, this.beta);
+                siblings[i - 1].fork();
+            }
+            for(NodeTask sibling : siblings){
+                sibling.join();
+            }
+            if(isCutOff()){
+                return;
+            }
+            /*A brother refuted this node, the value is beta however many finished.*/
+            if(this.cutoff){
+                this.value = this.beta;
+                return;
+            }
+            /*Siblings share one window, so the first of equal scores wins whatever the finishing order.*/
+            for(int i = 0; i < siblings.length; i++){
+                int siblingValue = -siblings[i].value;
+                if(siblingValue >= this.beta){
+                    this.value = this.beta;
+                    return;
+                }
+                if(siblingValue > best){
+                    best = siblingValue;
+                    bestMove = moves.get(0, i + 1);
+                    bestLine = siblings[i].line;
+                }
+            }
+            this.value = Math.max(this.alpha, best);
+            if(best > this.alpha){
+                this.line = prepend(bestMove, bestLine);
+            }
+        }
+
+        /**
+         * Create the task of a child node.
+         * @param move move leading to the child.
+         * @param alpha lower bound of this node's window.
+         * @param beta upper bound of this node's window.
+         * @return child task, searching the negated window.
+         */
+        private NodeTask child(long move, int alpha, int beta){
+            Position childPosition = new Position(this.position);
+            childPosition.makeMove(move);
+            return new NodeTask(this.search, this, childPosition, this.depth - 1, this.ply + 1,
+                    -beta, -alpha, Moves.NO_MOVE);
+        }
+    }
+
+    /**
+     * Build a line from a move followed by another line.
+     * @param move first move.
+     * @param rest line following the move.
+     * @return new line.
+     */
+    private static long[] prepend(long move, long[] rest){
+        long[] line = new long[rest.length + 1];
+        line[0] = move;
+        System.arraycopy(rest, 0, line, 1, rest.length);
+        return line;
+    }
+
+    /**
+     * Sequential fail-hard alpha-beta search of the nodes too shallow
+     * to split, owned by one pool thread. Below depth 0 only jumps are
+     * searched, until the position is quiet.
+     */
+    private static class Worker{
+        private final ForkJoinSearch search;
+        private final MoveBuffer moves = new MoveBuffer(WORKER_PLIES);
+        private final long[][] pvTable = new long[WORKER_PLIES][WORKER_PLIES];
+        private final int[] pvLength = new int[WORKER_PLIES];
+        private final Evaluator evaluator = new Evaluator();
+        private Position position;
+        private NodeTask task;
+        private int rootPly;
+        private long nodes;
+        /** Nodes the quiescence search of the current leaf has visited.*/
+        private int quiescenceNodes;
+
+        Worker(ForkJoinSearch search){
+            this.search = search;
+        }
+
+        /**
+         * Search the node of a task.
+         * @param task task owning the node, checked for cancellation.
+         * @param position position of the node, made and unmade in place.
+         * @param depth remaining depth, below SPLIT_DEPTH.
+         * @param ply distance of the node from the root.
+         * @param alpha lower bound of the window.
+         * @param beta upper bound of the window.
+         * @return fail-hard score from the view of the side to move.
+         */
+        int search(NodeTask task, Position position, int depth, int ply, int alpha, int beta){
+            this.task = task;
+            this.position = position;
+            this.evaluator.reset(position);
+            this.rootPly = ply;
+            this.nodes = 0;
+            int value = alphaBeta(depth, 0, alpha, beta);
+            this.search.nodes.add(this.nodes);
+            return value;
+        }
+
+        /**
+         * Principal variation of the last search, empty if it failed low or high.
+         * @return packed moves.
+         */
+        long[] line(){
+            long[] line = new long[this.pvLength[0]];
+            System.arraycopy(this.pvTable[0], 0, line, 0, line.length);
+            return line;
+        }
+
+        private int alphaBeta(int depth, int ply, int alpha, int beta){
+            if((this.nodes & CHECK_MASK) == 0 && (this.search.checkStopped() || this.task.isCutOff())){
+                return alpha;
+            }
+            this.nodes++;
+            if(depth <= 0){
+                this.quiescenceNodes = depth == 0 ? 1 : this.quiescenceNodes + 1;
+            }
+            this.pvLength[ply] = 0;
+            int moveCount = MoveGenerator.generate(this.position, this.moves, ply);
+            if(moveCount == 0){
+                return Math.max(alpha, Math.min(beta, -Search.WIN + this.rootPly + ply));
+            }
+            /*Quiescence: a leaf is only evaluated once no jump is pending, or past the ply and node limits.*/
+            if(depth <= 0 && (!Moves.isJump(this.moves.get(ply, 0)) || depth <= -QUIESCENCE_MAX_DEPTH
+                    || this.quiescenceNodes >= Search.QUIESCENCE_MAX_NODES || ply >= this.pvLength.length - 2)){
+                return Math.max(alpha, Math.min(beta, this.evaluator.score(this.position)));
+            }
+            for(int i = 0; i < moveCount; i++){
+                long move = this.moves.get(ply, i);
+                this.evaluator.makeMove(this.position, move);
+                int value;
+                if(i == 0){
+                    value = -alphaBeta(depth - 1, ply + 1, -beta, -alpha);
+                }else{
+                    value = -alphaBeta(depth - 1, ply + 1, -alpha - 1, -alpha);
+                    if(value > alpha && value < beta){
+                        value = -alphaBeta(depth - 1, ply + 1, -beta, -alpha);
+                    }
+                }
+                this.evaluator.unmakeMove(this.position);
+                if(value >= beta){
+                    this.pvLength[ply] = 0;
+                    return beta;
+                }
+                if(value > alpha){
+                    alpha = value;
+                    long[] line = this.pvTable[ply];
+                    line[0] = move;
+                    System.arraycopy(this.pvTable[ply + 1], 0, line, 1, this.pvLength[ply + 1]);
+                    this.pvLength[ply] = this.pvLength[ply + 1] + 1;
+                }
+            }
+            return alpha;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package search;
+
+import engine.Position;
+
+/**
+ * Interface of the search strategies a computer player can use.
+ * Every strategy deepens iteratively and reports the result of
+ * its last completed iteration.
+ */
+public interface ISearch {
+
+    /**
+     * Search a position until the time manager stops the search
+     * or the maximum depth is reached.
+     * @param root position to search, not modified.
+     * @param maxDepth deepest iteration to search, at least 1.
+     * @param timeManager clock of the search, null to search to maxDepth.
+     * @return best move, or Moves.NO_MOVE if the side to move has no moves.
+     */
+    long search(Position root, int maxDepth, TimeManager timeManager);
+
+    /**
+     * Abort the running search, it returns the result of the
+     * last completed iteration. May be called from any thread.
+     */
+    void stop();
+
+    /**
+     * Best move of the last completed iteration.
+     * @return packed move, or Moves.NO_MOVE if nothing was searched.
+     */
+    long getBestMove();
+
+    /**
+     * Principal variation of the last completed iteration,
+     * the best move followed by the expected replies.
+     * @return packed moves, the caller may keep the array.
+     */
+    long[] getPrincipalVariation();
+
+    /**
+     * Score of the last completed iteration.
+     * @return score from the view of the side to move at the root.
+     */
+    int getScore();
+
+    /**
+     * Depth of the last completed iteration.
+     * @return depth in plies.
+     */
+    int getCompletedDepth();
+
+    /**
+     * Positions visited by the last search, all threads included.
+     * @return node count.
+     */
+    long getNodes();
+
+    /**
+     * Release the threads of this search, it can not be used afterwards.
+     * A search without threads of its own has nothing to release.
+     */
+    void close();
+}
@@ -0,0 +1,189 @@
+package search;
+
+import engine.DaemonThreadFactory;
+import engine.Position;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lazy SMP parallel search: the main search runs on the calling thread
+ * while helper searches run the same position on pool threads.
+ * The threads only communicate through the shared transposition table,
+ * helpers start at different depths and vary their move order, so the
+ * entries they store let the main search deepen faster.
+ * The result is the result of the main search, once it finishes the
+ * helpers are stopped and waited for before returning.
+ */
+public class LazySmpSearch implements ISearch {
+
+    /** Table shared by all threads.*/
+    private final TranspositionTable table;
+
+    /** Search run on the calling thread, its result is reported.*/
+    private final Search main;
+
+    /** Searches run on the helper threads.*/
+    private final Search[] helpers;
+
+    /** Pending results of the helper searches.*/
+    private final Future<?>[] helperResults;
+
+    /** Threads running the helper searches.*/
+    private final ExecutorService executor;
+
+    /** Number of pools created, for thread names.*/
+    private static final AtomicInteger POOL_COUNT = new AtomicInteger();
+
+    /**
+     * Create a parallel search.
+     * @param table table shared by all threads.
+     * @param threads total number of searching threads, the calling thread included.
+     */
+    public LazySmpSearch(TranspositionTable table, int threads){
+        this.table = table;
+        this.main = new Search(table, 0);
+        this.helpers = new Search[Math.max(threads, 1) - 1];
+        this.helperResults = new Future<?>[this.helpers.length];
+        for(int i = 0; i < this.helpers.length; i++){
+            this.helpers[i] = new Search(table, i + 1);
+        }
+        this.executor = this.helpers.length == 0 ? null
+                : Executors.newFixedThreadPool(this.helpers.length, new DaemonThreadFactory("lazy-smp-" + POOL_COUNT.incrementAndGet()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long search(Position root, int maxDepth, TimeManager timeManager){
+        /*Age the table before any helper stores, so its first entries belong to this search.*/
+        this.table.newSearch();
+        this.main.restart();
+        for(int i = 0; i < this.helpers.length; i++){
+            this.helpers[i].restart();
+            this.helperResults[i] = this.executor.submit(new HelperSearch(this.helpers[i], root, maxDepth));
+        }
+        long move;
+        try{
+            move = this.main.iterate(root, maxDepth, timeManager);
+        }finally{
+            stopHelpers();
+        }
+        return move;
+    }
+
+    /**
+     * Stop every helper and wait until all of them have returned.
+     */
+    private void stopHelpers(){
+        for(Search helper : this.helpers){
+            helper.stop();
+        }
+        for(int i = 0; i < this.helperResults.length; i++){
+            try{
+                this.helperResults[i].get();
+            }catch(InterruptedException e){
+                Thread.currentThread().interrupt();
+            }catch(ExecutionException e){
+                throw new IllegalStateException("Helper search failed", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void stop(){
+        this.main.stop();
+        for(Search helper : this.helpers){
+            helper.stop();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close(){
+        if(this.executor != null){
+            this.executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Number of searching threads.
+     * @return helper threads plus the calling thread.
+     */
+    public int getThreads(){
+        return this.helpers.length + 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getBestMove(){
+        return this.main.getBestMove();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long[] getPrincipalVariation(){
+        return this.main.getPrincipalVariation();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getScore(){
+        return this.main.getScore();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getCompletedDepth(){
+        return this.main.getCompletedDepth();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getNodes(){
+        long nodes = this.main.getNodes();
+        for(Search helper : this.helpers){
+            nodes += helper.getNodes();
+        }
+        return nodes;
+    }
+
+    /**
+     * Run one helper search until it is stopped or reaches its depth.
+     */
+    private static class HelperSearch implements Runnable{
+        private final Search helper;
+        private final Position root;
+        private final int maxDepth;
+
+        HelperSearch(Search helper, Position root, int maxDepth){
+            this.helper = helper;
+            this.root = new Position(root);
+            this.maxDepth = maxDepth;
+        }
+
+        @Override
+        public void run() {
+            this.helper.iterate(this.root, this.maxDepth, null);
+        }
+    }
+}
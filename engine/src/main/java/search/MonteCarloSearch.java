@@ -0,0 +1,407 @@
+package search;
+
+import engine.MoveBuffer;
+import engine.MoveGenerator;
+import engine.Moves;
+import engine.DaemonThreadFactory;
+import engine.Position;
+
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Monte Carlo tree search with UCT. Every playout walks down the tree,
+ * choosing the child with the best upper confidence bound, plays random
+ * moves from where the tree ends and passes the result back up. A node
+ * is expanded on its second visit, a playout is cut off after
+ * ROLLOUT_PLIES plies and then scored by the evaluation. The move
+ * played most is chosen, so the strength grows with the playouts
+ * allowed per move.
+ * <p>
+ * The tree lives in a NodeArena. Playouts run on several threads over
+ * the same tree; a thread walking through a node adds a virtual loss
+ * to it until its result arrives, steering the other threads to other
+ * lines. The subtree of the position reached two plies after the last
+ * search is kept for the next, copied into a second arena so neither
+ * ever holds a dropped node.
+ */
+public class MonteCarloSearch {
+
+    /** Plies played out before the evaluation decides a playout.*/
+    static final int ROLLOUT_PLIES = 40;
+
+    /** Evaluation a playout has to be ahead by to count as won.*/
+    static final int ROLLOUT_MARGIN = 60;
+
+    /** Exploration constant of the upper confidence bound.*/
+    static final double EXPLORATION = 1.0;
+
+    /** Visits added to a node while a playout through it runs.*/
+    static final int VIRTUAL_LOSS = 3;
+
+    /** Half points of a won playout.*/
+    private static final int WIN = 2;
+
+    /** Half points of a drawn playout.*/
+    private static final int DRAW = 1;
+
+    /** Largest number of nodes on a path.*/
+    private static final int MAX_PATH = MoveBuffer.MAX_PLY;
+
+    /** Arena the tree is searched in.*/
+    private NodeArena tree;
+
+    /** Arena the kept subtree is copied into.*/
+    private NodeArena spare;
+
+    /** Number of playout threads.*/
+    private final int threads;
+
+    /** Pool running the playouts of all but the calling thread, null for one thread.*/
+    private final ExecutorService executor;
+
+    /** Position at the root of the tree, without undo history.*/
+    private final Position rootPosition = new Position();
+
+    /** True while the tree holds the search of rootPosition.*/
+    private boolean hasTree;
+
+    /** Number of playouts started by the running search.*/
+    private final AtomicInteger started = new AtomicInteger();
+
+    /** Playouts allowed to the running search.*/
+    private volatile int budget;
+
+    /** Seed of the playout random generators.*/
+    private final AtomicInteger seed = new AtomicInteger((int) System.nanoTime());
+
+    /** Number of pools created, for thread names.*/
+    private static final AtomicInteger POOL_COUNT = new AtomicInteger();
+
+    /**
+     * Create a search.
+     * @param capacity number of nodes of each of the two arenas.
+     * @param threads number of playout threads.
+     */
+    public MonteCarloSearch(int capacity, int threads){
+        this.tree = new NodeArena(capacity);
+        this.spare = new NodeArena(capacity);
+        this.threads = Math.max(1, threads);
+        this.executor = this.threads == 1 ? null
+                : Executors.newFixedThreadPool(this.threads - 1, new DaemonThreadFactory("mcts-" + POOL_COUNT.incrementAndGet()));
+    }
+
+    /**
+     * Search a position.
+     * @param position position to search, not modified.
+     * @param playouts number of playouts.
+     * @return the move played most, or Moves.NO_MOVE if the side to move has no moves.
+     */
+    public long search(Position position, int playouts){
+        int root = reuseOrReset(position);
+        this.started.set(0);
+        this.budget = playouts;
+        Future<?>[] helpers = new Future<?>[this.threads - 1];
+        for(int i = 0; i < helpers.length; i++){
+            helpers[i] = this.executor.submit(new PlayoutRunner(this, root));
+        }
+        playouts(root);
+        for(Future<?> helper : helpers){
+            try{
+                helper.get();
+            }catch(InterruptedException e){
+                Thread.currentThread().interrupt();
+            }catch(ExecutionException e){
+                throw new IllegalStateException("Playout failed", e.getCause());
+            }
+        }
+        return getBestMove();
+    }
+
+    /**
+     * Make the root the node of a position, keeping the subtree the
+     * tree already holds for it if the position is the root or two plies
+     * below it.
+     * @param position position to search.
+     * @return index of the root, always 0.
+     */
+    private int reuseOrReset(Position position){
+        int kept = this.hasTree ? findNode(position) : -1;
+        if(kept > 0){
+            this.spare.copySubtree(this.tree, kept);
+            NodeArena swap = this.tree;
+            this.tree = this.spare;
+            this.spare = swap;
+        }else if(kept < 0){
+            this.tree.reset();
+        }
+        this.rootPosition.setPieces(position.getWhite(), position.getBlack(), position.getKings(), position.getSideToMove());
+        this.hasTree = true;
+        return 0;
+    }
+
+    /**
+     * Find the node of a position at the root or two plies below it.
+     * @param position position to find.
+     * @return node index, -1 if not found.
+     */
+    private int findNode(Position position){
+        if(samePosition(this.rootPosition, position)){
+            return 0;
+        }
+        Position probe = new Position(this.rootPosition);
+        int first = this.tree.getFirstChild(0);
+        for(int child = first; child >= 0 && child < first + this.tree.getChildCount(0); child++){
+            probe.makeMove(this.tree.getMove(child));
+            int grandFirst = this.tree.getFirstChild(child);
+            for(int grand = grandFirst; grand >= 0 && grand < grandFirst + this.tree.getChildCount(child); grand++){
+                probe.makeMove(this.tree.getMove(grand));
+                boolean found = samePosition(probe, position);
+                probe.unmakeMove();
+                if(found){
+                    return grand;
+                }
+            }
+            probe.unmakeMove();
+        }
+        return -1;
+    }
+
+    /**
+     * Determine if two positions have the same pieces and side to move.
+     * @param a a position.
+     * @param b another position.
+     * @return true if equal.
+     */
+    private static boolean samePosition(Position a, Position b){
+        return a.getWhite() == b.getWhite() && a.getBlack() == b.getBlack()
+                && a.getKings() == b.getKings() && a.getSideToMove() == b.getSideToMove();
+    }
+
+    /**
+     * Run playouts until the budget is used, on any thread.
+     * @param root index of the root.
+     */
+    void playouts(int root){
+        Position position = new Position();
+        MoveBuffer buffer = new MoveBuffer(1);
+        Random random = new Random(this.seed.getAndIncrement());
+        int[] path = new int[MAX_PATH];
+        while(this.started.getAndIncrement() < this.budget){
+            playout(root, position, buffer, random, path);
+        }
+    }
+
+    /**
+     * Run one playout: select, expand, play out and pass the result back.
+     * @param root index of the root.
+     * @param position position of the thread, set to the root.
+     * @param buffer move buffer of the thread.
+     * @param random random generator of the thread.
+     * @param path nodes walked through.
+     */
+    private void playout(int root, Position position, MoveBuffer buffer, Random random, int[] path){
+        NodeArena arena = this.tree;
+        position.setPieces(this.rootPosition.getWhite(), this.rootPosition.getBlack(),
+                this.rootPosition.getKings(), this.rootPosition.getSideToMove());
+        int node = root;
+        int length = 0;
+        path[length++] = node;
+        int result;
+        while(true){
+            int first = arena.getFirstChild(node);
+            if(first == NodeArena.TERMINAL){
+                result = 0;
+                break;
+            }
+            if(first >= 0 && length < MAX_PATH){
+                node = select(arena, node, first);
+                arena.addVisits(node, VIRTUAL_LOSS);
+                position.makeMove(arena.getMove(node));
+                path[length++] = node;
+                continue;
+            }
+            if(first == NodeArena.UNEXPANDED && (node == root || arena.getVisits(node) > VIRTUAL_LOSS)
+                    && arena.claim(node)){
+                int count = MoveGenerator.generate(position, buffer, 0);
+                if(arena.expand(node, buffer, 0, count)){
+                    continue;
+                }
+            }
+            result = rollout(position, buffer, random);
+            break;
+        }
+        /*result is for the side to move at the last node, its move was made by the other side.*/
+        int value = WIN - result;
+        for(int i = length - 1; i >= 0; i--){
+            arena.update(path[i], i == 0 ? 1 : 1 - VIRTUAL_LOSS, value);
+            value = WIN - value;
+        }
+    }
+
+    /**
+     * Choose the child with the best upper confidence bound.
+     * @param arena the tree.
+     * @param node expanded node.
+     * @param first first child of the node.
+     * @return child index.
+     */
+    private static int select(NodeArena arena, int node, int first){
+        int end = first + arena.getChildCount(node);
+        double logVisits = Math.log(Math.max(1, arena.getVisits(node)));
+        int best = first;
+        double bestBound = Double.NEGATIVE_INFINITY;
+        for(int child = first; child < end; child++){
+            int visits = arena.getVisits(child);
+            if(visits == 0){
+                return child;
+            }
+            double bound = arena.getValue(child) / (2.0 * visits) + EXPLORATION * Math.sqrt(logVisits / visits);
+            if(bound > bestBound){
+                bestBound = bound;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Play random moves to the end of the game or ROLLOUT_PLIES plies.
+     * @param position position to play from, changed.
+     * @param buffer move buffer of the thread.
+     * @param random random generator of the thread.
+     * @return half points of the side to move at the start: 0, DRAW or WIN.
+     */
+    private static int rollout(Position position, MoveBuffer buffer, Random random){
+        int side = position.getSideToMove();
+        for(int ply = 0; ply < ROLLOUT_PLIES; ply++){
+            int count = MoveGenerator.generate(position, buffer, 0);
+            if(count == 0){
+                return position.getSideToMove() == side ? 0 : WIN;
+            }
+            position.makeMove(buffer.get(0, random.nextInt(count)));
+        }
+        int score = Evaluator.evaluate(position);
+        if(position.getSideToMove() != side){
+            score = -score;
+        }
+        return score > ROLLOUT_MARGIN ? WIN : score < -ROLLOUT_MARGIN ? 0 : DRAW;
+    }
+
+    /**
+     * Child of a node played most.
+     * @param arena the tree.
+     * @param node node index.
+     * @return child index, -1 if the node has no children.
+     */
+    private static int mostPlayed(NodeArena arena, int node){
+        int first = arena.getFirstChild(node);
+        if(first < 0){
+            return -1;
+        }
+        int best = first;
+        for(int child = first + 1; child < first + arena.getChildCount(node); child++){
+            if(arena.getVisits(child) > arena.getVisits(best)){
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Move played most at the root of the last search.
+     * @return packed move, or Moves.NO_MOVE if the root has no children.
+     */
+    public long getBestMove(){
+        int best = mostPlayed(this.tree, 0);
+        return best < 0 ? Moves.NO_MOVE : this.tree.getMove(best);
+    }
+
+    /**
+     * Line of the moves played most from the root of the last search.
+     * @return packed moves, the caller may keep the array.
+     */
+    public long[] getPrincipalVariation(){
+        long[] line = new long[MAX_PATH];
+        int length = 0;
+        int node = mostPlayed(this.tree, 0);
+        while(node >= 0 && length < MAX_PATH && this.tree.getVisits(node) > 0){
+            line[length++] = this.tree.getMove(node);
+            node = mostPlayed(this.tree, node);
+        }
+        long[] result = new long[length];
+        System.arraycopy(line, 0, result, 0, length);
+        return result;
+    }
+
+    /**
+     * Share of the points the side to move at the root expects.
+     * @return 0 - 1, 0.5 before any playout.
+     */
+    public double getWinRate(){
+        int best = mostPlayed(this.tree, 0);
+        if(best < 0 || this.tree.getVisits(best) == 0){
+            return 0.5;
+        }
+        return this.tree.getValue(best) / (2.0 * this.tree.getVisits(best));
+    }
+
+    /**
+     * Playouts through the root, those of earlier searches kept with the subtree included.
+     * @return visit count of the root.
+     */
+    public int getRootVisits(){
+        return this.tree.getVisits(0);
+    }
+
+    /**
+     * Nodes of the tree.
+     * @return node count.
+     */
+    public int getTreeSize(){
+        return this.tree.getSize();
+    }
+
+    /**
+     * Release the playout threads, the search can not be used afterwards.
+     */
+    public void close(){
+        if(this.executor != null){
+            this.executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs playouts on a pool thread.
+     */
+    private static class PlayoutRunner implements Runnable {
+
+        /** Search the playouts belong to.*/
+        private final MonteCarloSearch search;
+
+        /** Index of the root.*/
+        private final int root;
+
+        /**
+         * Create a runner.
+         * @param search search the playouts belong to.
+         * @param root index of the root.
+         */
+        PlayoutRunner(MonteCarloSearch search, int root){
+            this.search = search;
+            this.root = root;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void run(){
+            this.search.playouts(this.root);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package search;
+
+import engine.MoveBuffer;
+import engine.Moves;
+
+/**
+ * Move ordering statistics gathered while searching: two killer moves
+ * per ply, a history score per (side, from, to) and the counter move
+ * that refuted each previous move. Only quiet moves are recorded,
+ * jumps are ordered by the material they win.
+ * Owned by one search thread.
+ */
+final class MoveHistory {
+
+    /** History scores are halved once one exceeds this.*/
+    private static final int HISTORY_LIMIT = 1 << 20;
+
+    /** Killer moves per ply, the newest first.*/
+    private final long[][] killers = new long[MoveBuffer.MAX_PLY][2];
+
+    /** History scores indexed by (side * 32 + from) * 32 + to.*/
+    private final int[] history = new int[2 * 32 * 32];
+
+    /** Counter moves indexed by from * 32 + to of the move they answer.*/
+    private final long[] counterMoves = new long[32 * 32];
+
+    /**
+     * Forget the killers and age the history before a new search.
+     */
+    void newSearch(){
+        for(long[] plyKillers : this.killers){
+            plyKillers[0] = Moves.NO_MOVE;
+            plyKillers[1] = Moves.NO_MOVE;
+        }
+        ageHistory();
+    }
+
+    /**
+     * Record a quiet move that caused a beta cutoff.
+     * @param side side that made the move.
+     * @param ply ply the move was made at.
+     * @param depth remaining depth of the cut off node.
+     * @param move the refuting move.
+     * @param previous move made at the previous ply, or Moves.NO_MOVE.
+     */
+    void recordCutoff(int side, int ply, int depth, long move, long previous){
+        long[] plyKillers = this.killers[ply];
+        if(plyKillers[0] != move){
+            plyKillers[1] = plyKillers[0];
+            plyKillers[0] = move;
+        }
+        int index = historyIndex(side, move);
+        this.history[index] += depth * depth;
+        if(this.history[index] > HISTORY_LIMIT){
+            ageHistory();
+        }
+        if(previous != Moves.NO_MOVE){
+            this.counterMoves[(Moves.from(previous) << 5) | Moves.to(previous)] = move;
+        }
+    }
+
+    /**
+     * Killer move of a ply.
+     * @param ply ply of the search line.
+     * @param slot 0 for the newest killer, 1 for the older one.
+     * @return packed move, or Moves.NO_MOVE.
+     */
+    long killer(int ply, int slot){
+        return this.killers[ply][slot];
+    }
+
+    /**
+     * Move that last refuted a move.
+     * @param previous the move to answer.
+     * @return packed move, or Moves.NO_MOVE.
+     */
+    long counterMove(long previous){
+        if(previous == Moves.NO_MOVE){
+            return Moves.NO_MOVE;
+        }
+        return this.counterMoves[(Moves.from(previous) << 5) | Moves.to(previous)];
+    }
+
+    /**
+     * History score of a quiet move.
+     * @param side side making the move.
+     * @param move packed move.
+     * @return accumulated score, higher moves are tried first.
+     */
+    int score(int side, long move){
+        return this.history[historyIndex(side, move)];
+    }
+
+    /**
+     * Halve every history score, so recent cutoffs count more.
+     */
+    private void ageHistory(){
+        for(int i = 0; i < this.history.length; i++){
+            this.history[i] >>= 1;
+        }
+    }
+
+    /**
+     * Index of a move in the history table.
+     * @param side side making the move.
+     * @param move packed move.
+     * @return index into history.
+     */
+    private static int historyIndex(int side, long move){
+        return (((side << 5) | Moves.from(move)) << 5) | Moves.to(move);
+    }
+}
@@ -0,0 +1,185 @@
+package search;
+
+import engine.MoveBuffer;
+import engine.Moves;
+import engine.Position;
+
+/**
+ * Hands out the generated moves of one ply in stages: the
+ * transposition table move, then jumps by the material they win,
+ * then the killer and counter moves, then the remaining quiet moves
+ * by their history score. Jumps are mandatory, so a ply holds either
+ * jumps or quiet moves and only the stages of its kind apply.
+ * Moves are sorted lazily inside the move buffer, a move found by an
+ * early stage is never returned again and a cutoff saves the cost of
+ * ordering the rest. One picker serves one ply of one search thread.
+ */
+final class MovePicker {
+
+    /** Returning the transposition table move.*/
+    private static final int STAGE_TABLE = 0;
+    /** Returning jumps, most material won first.*/
+    private static final int STAGE_JUMPS = 1;
+    /** Returning killer and counter moves.*/
+    private static final int STAGE_KILLERS = 2;
+    /** Returning quiet moves, highest history first.*/
+    private static final int STAGE_QUIET = 3;
+
+    /** Killer slots followed by the counter move.*/
+    private static final int SPECIAL_MOVES = 3;
+
+    /** Sort keys of the moves not yet returned, parallel to the buffer.*/
+    private final int[] scores = new int[MoveBuffer.MAX_MOVES];
+
+    /** Moves of the ply.*/
+    private MoveBuffer moves;
+    /** Ply of the moves in the buffer.*/
+    private int ply;
+    /** Number of moves of the ply.*/
+    private int moveCount;
+    /** Index of the next move to return.*/
+    private int next;
+    /** Current stage.*/
+    private int stage;
+    /** Data word of the table entry of the position, 0 if none.*/
+    private long tableEntry;
+    /** Next killer slot or counter move to try, 0 - SPECIAL_MOVES.*/
+    private int special;
+    /** True once the sort keys of the current stage are computed.*/
+    private boolean scored;
+    /** Position the moves belong to.*/
+    private Position position;
+    /** Ordering statistics of the search.*/
+    private MoveHistory history;
+    /** Move made at the previous ply, or Moves.NO_MOVE.*/
+    private long previous;
+
+    /**
+     * Prepare to hand out the moves of a ply.
+     * @param position position the moves were generated in.
+     * @param moves buffer holding the moves.
+     * @param ply ply of the moves.
+     * @param moveCount number of moves, at least one.
+     * @param tableEntry data word of the table entry of the position, 0 if none.
+     * @param history ordering statistics of the search.
+     * @param previous move made at the previous ply, or Moves.NO_MOVE.
+     */
+    void init(Position position, MoveBuffer moves, int ply, int moveCount,
+              long tableEntry, MoveHistory history, long previous){
+        this.position = position;
+        this.moves = moves;
+        this.ply = ply;
+        this.moveCount = moveCount;
+        this.next = 0;
+        this.stage = STAGE_TABLE;
+        this.tableEntry = tableEntry;
+        this.special = 0;
+        this.scored = false;
+        this.history = history;
+        this.previous = previous;
+    }
+
+    /**
+     * Next move to search.
+     * @return packed move, or Moves.NO_MOVE once every move was returned.
+     */
+    long next(){
+        if(this.next >= this.moveCount){
+            return Moves.NO_MOVE;
+        }
+        switch(this.stage){
+            case STAGE_TABLE:
+                this.stage = Moves.isJump(this.moves.get(this.ply, 0)) ? STAGE_JUMPS : STAGE_KILLERS;
+                if(TranspositionTable.hasMove(this.tableEntry) && bringForward(this.tableEntry, true)){
+                    return this.moves.get(this.ply, this.next++);
+                }
+                return next();
+            case STAGE_JUMPS:
+                if(!this.scored){
+                    scoreJumps();
+                }
+                return pickBest();
+            case STAGE_KILLERS:
+                while(this.special < SPECIAL_MOVES){
+                    long candidate = this.special < 2 ? this.history.killer(this.ply, this.special)
+                            : this.history.counterMove(this.previous);
+                    this.special++;
+                    if(candidate != Moves.NO_MOVE && bringForward(candidate, false)){
+                        return this.moves.get(this.ply, this.next++);
+                    }
+                }
+                this.stage = STAGE_QUIET;
+                return next();
+            default:
+                if(!this.scored){
+                    scoreQuiet();
+                }
+                return pickBest();
+        }
+    }
+
+    /**
+     * Swap a move not yet returned to the next index.
+     * @param move packed move, or a table entry data word.
+     * @param tableMove true if move is a table entry data word.
+     * @return true if the move is among the moves not yet returned.
+     */
+    private boolean bringForward(long move, boolean tableMove){
+        for(int i = this.next; i < this.moveCount; i++){
+            long candidate = this.moves.get(this.ply, i);
+            if(tableMove ? TranspositionTable.isMove(move, candidate) : candidate == move){
+                this.moves.swap(this.ply, this.next, i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Score the remaining jumps by the material they capture.
+     */
+    private void scoreJumps(){
+        int kings = this.position.getKings();
+        for(int i = this.next; i < this.moveCount; i++){
+            long move = this.moves.get(this.ply, i);
+            int captured = Moves.captured(move);
+            this.scores[i] = Integer.bitCount(captured & ~kings) * Evaluator.MAN
+                    + Integer.bitCount(captured & kings) * Evaluator.KING
+                    + (Moves.isPromotion(move) ? Evaluator.KING - Evaluator.MAN : 0);
+        }
+        this.scored = true;
+    }
+
+    /**
+     * Score the remaining quiet moves by their history,
+     * promotions before everything else.
+     */
+    private void scoreQuiet(){
+        int side = this.position.getSideToMove();
+        for(int i = this.next; i < this.moveCount; i++){
+            long move = this.moves.get(this.ply, i);
+            this.scores[i] = Moves.isPromotion(move) ? Integer.MAX_VALUE : this.history.score(side, move);
+        }
+        this.scored = true;
+    }
+
+    /**
+     * Return the best scored move not yet returned, selection sort style.
+     * @return packed move.
+     */
+    private long pickBest(){
+        int best = this.next;
+        for(int i = this.next + 1; i < this.moveCount; i++){
+            if(this.scores[i] > this.scores[best]){
+                best = i;
+            }
+        }
+        if(best != this.next){
+            this.moves.swap(this.ply, this.next, best);
+            int score = this.scores[best];
+            this.scores[best] = this.scores[this.next];
+            this.scores[this.next] = score;
+        }
+        return this.moves.get(this.ply, this.next++);
+    }
+}
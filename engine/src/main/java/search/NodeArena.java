@@ -0,0 +1,232 @@
+package search;
+
+import engine.MoveBuffer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Preallocated store of Monte Carlo tree nodes, one slot of each array
+ * per node, a node is its int index. The children of a node are
+ * allocated together in consecutive slots. A node costs 24 bytes, a
+ * long and four ints, and nothing is allocated while searching.
+ * MonteCarloSearch keeps two arenas of the same capacity, so each node
+ * it can hold costs 48 bytes.
+ * <p>
+ * The children state of a node is its first child, or UNEXPANDED,
+ * BUSY or TERMINAL. Threads race to expand a node by changing its state
+ * from UNEXPANDED to BUSY; the winner writes the children and then
+ * publishes the first child, so a thread reading a first child sees
+ * the children written. A node stays BUSY when the arena is full.
+ */
+final class NodeArena {
+
+    /** Children state of a node never expanded.*/
+    static final int UNEXPANDED = -1;
+
+    /** Children state of a node being expanded, or that can not be expanded as the arena is full.*/
+    static final int BUSY = -2;
+
+    /** Children state of a node whose side to move has no move.*/
+    static final int TERMINAL = -3;
+
+    /** Move leading into each node.*/
+    private final long[] moves;
+
+    /** Children state of each node.*/
+    private final AtomicIntegerArray firstChild;
+
+    /** Number of children of each expanded node.*/
+    private final int[] childCount;
+
+    /** Playouts through each node, virtual losses included.*/
+    private final AtomicIntegerArray visits;
+
+    /** Half points won through each node by the side making its move.*/
+    private final AtomicIntegerArray values;
+
+    /** Next free slot.*/
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Create an arena.
+     * @param capacity number of nodes it can hold.
+     */
+    NodeArena(int capacity){
+        this.moves = new long[capacity];
+        this.firstChild = new AtomicIntegerArray(capacity);
+        this.childCount = new int[capacity];
+        this.visits = new AtomicIntegerArray(capacity);
+        this.values = new AtomicIntegerArray(capacity);
+    }
+
+    /**
+     * Drop every node and create a root.
+     * @return index of the root.
+     */
+    int reset(){
+        this.size.set(1);
+        this.moves[0] = 0;
+        this.firstChild.set(0, UNEXPANDED);
+        this.childCount[0] = 0;
+        this.visits.set(0, 0);
+        this.values.set(0, 0);
+        return 0;
+    }
+
+    /**
+     * Start expanding a node.
+     * @param node node index.
+     * @return true if this thread is to expand it.
+     */
+    boolean claim(int node){
+        return this.firstChild.compareAndSet(node, UNEXPANDED, BUSY);
+    }
+
+    /**
+     * Expand a claimed node.
+     * @param node node index.
+     * @param buffer buffer holding the moves of the node's position.
+     * @param ply ply slice of the buffer holding them.
+     * @param count number of moves, 0 if the node is lost for its side to move.
+     * @return false if the arena is full, the node then stays BUSY.
+     */
+    boolean expand(int node, MoveBuffer buffer, int ply, int count){
+        if(count == 0){
+            this.firstChild.set(node, TERMINAL);
+            return true;
+        }
+        int base = this.size.getAndAdd(count);
+        if(base + count > this.moves.length){
+            return false;
+        }
+        for(int i = 0; i < count; i++){
+            int child = base + i;
+            this.moves[child] = buffer.get(ply, i);
+            this.firstChild.set(child, UNEXPANDED);
+            this.childCount[child] = 0;
+            this.visits.set(child, 0);
+            this.values.set(child, 0);
+        }
+        this.childCount[node] = count;
+        this.firstChild.set(node, base);
+        return true;
+    }
+
+    /**
+     * Copy the subtree of a node of another arena into this one,
+     * dropping everything this arena held. The copied root is index 0.
+     * @param source arena holding the subtree, of the same capacity.
+     * @param root root of the subtree in the source.
+     */
+    void copySubtree(NodeArena source, int root){
+        reset();
+        this.moves[0] = source.moves[root];
+        this.visits.set(0, source.visits.get(root));
+        this.values.set(0, source.values.get(root));
+        /*Until a node is processed its first child slot holds its index in the source.*/
+        this.firstChild.set(0, root);
+        int next = 1;
+        for(int node = 0; node < next; node++){
+            int old = this.firstChild.get(node);
+            int first = source.firstChild.get(old);
+            if(first < 0){
+                this.firstChild.set(node, first == TERMINAL ? TERMINAL : UNEXPANDED);
+                this.childCount[node] = 0;
+                continue;
+            }
+            int count = source.childCount[old];
+            for(int i = 0; i < count; i++){
+                this.moves[next + i] = source.moves[first + i];
+                this.visits.set(next + i, source.visits.get(first + i));
+                this.values.set(next + i, source.values.get(first + i));
+                this.firstChild.set(next + i, first + i);
+            }
+            this.firstChild.set(node, next);
+            this.childCount[node] = count;
+            next += count;
+        }
+        this.size.set(next);
+    }
+
+    /**
+     * Move leading into a node.
+     * @param node node index.
+     * @return packed move.
+     */
+    long getMove(int node){
+        return this.moves[node];
+    }
+
+    /**
+     * Children state of a node.
+     * @param node node index.
+     * @return first child, or UNEXPANDED, BUSY or TERMINAL.
+     */
+    int getFirstChild(int node){
+        return this.firstChild.get(node);
+    }
+
+    /**
+     * Number of children of an expanded node.
+     * @param node node index.
+     * @return child count.
+     */
+    int getChildCount(int node){
+        return this.childCount[node];
+    }
+
+    /**
+     * Playouts through a node, virtual losses included.
+     * @param node node index.
+     * @return visit count.
+     */
+    int getVisits(int node){
+        return this.visits.get(node);
+    }
+
+    /**
+     * Half points won through a node by the side making its move.
+     * @param node node index.
+     * @return value.
+     */
+    int getValue(int node){
+        return this.values.get(node);
+    }
+
+    /**
+     * Add to the visits of a node, a virtual loss or its removal.
+     * @param node node index.
+     * @param delta visits added.
+     */
+    void addVisits(int node, int delta){
+        this.visits.getAndAdd(node, delta);
+    }
+
+    /**
+     * Add a playout result to a node.
+     * @param node node index.
+     * @param visits visits added, one less the virtual losses removed.
+     * @param value half points won by the side making the node's move.
+     */
+    void update(int node, int visits, int value){
+        this.visits.getAndAdd(node, visits);
+        this.values.getAndAdd(node, value);
+    }
+
+    /**
+     * Number of nodes in use.
+     * @return node count.
+     */
+    int getSize(){
+        return Math.min(this.size.get(), this.moves.length);
+    }
+
+    /**
+     * Number of nodes the arena can hold.
+     * @return capacity.
+     */
+    int getCapacity(){
+        return this.moves.length;
+    }
+}
@@ -0,0 +1,585 @@
+package search;
+
+import engine.MoveBuffer;
+import engine.MoveGenerator;
+import engine.Moves;
+import engine.Position;
+import tablebase.Tablebase;
+import tablebase.TablebaseValue;
+
+/**
+ * Negamax alpha-beta search with principal variation search and
+ * aspiration windows, run on its own copy of a headless position.
+ * Every depth is searched in turn, each iteration centres an aspiration
+ * window on the score of the previous one and fills the transposition
+ * table that orders the moves of the next, see MovePicker. Leaves are
+ * extended through forced captures by a quiescence search. Late quiet
+ * moves are reduced, hopeless quiet moves near the leaves are pruned and
+ * nodes a shallow search puts far above beta are cut (ProbCut), all as
+ * set in the SearchConfig. Below the piece count of the configured
+ * endgame tablebase every node but the root takes its score from the
+ * tablebase instead of searching. A timed search lets a
+ * TimeManager decide when to stop deepening, the result of an iteration
+ * aborted by the hard deadline is thrown away.
+ * A search instance must only be used by one thread, several instances
+ * may share one transposition table. Helper instances of a parallel
+ * search start at a different depth and vary their move order, so
+ * they fill the table with positions the main instance needs next.
+ */
+public class Search implements ISearch {
+
+    /** Score of a won position, reduced by the plies needed to win.*/
+    public static final int WIN = 30000;
+
+    /** Scores beyond this are wins or losses found by the search.*/
+    public static final int WIN_THRESHOLD = WIN - MoveBuffer.MAX_PLY;
+
+    /** Score of a position the tablebase holds as won, reduced by the plies to the win.
+     * Below WIN_THRESHOLD, as the distance counts from the probed node and not the root.*/
+    public static final int TABLEBASE_WIN = 20000;
+
+    /** Scores are always inside (-INFINITY, INFINITY).*/
+    private static final int INFINITY = WIN + 1;
+
+    /** Half width of the first aspiration window.*/
+    private static final int ASPIRATION_WINDOW = 25;
+
+    /** Depth from which aspiration windows are used.*/
+    private static final int ASPIRATION_DEPTH = 4;
+
+    /** Nodes between two checks of the clock, minus one.*/
+    private static final int CLOCK_CHECK_MASK = 1023;
+
+    /** Most capture plies the quiescence search adds below a leaf.*/
+    private static final int QUIESCENCE_MAX_DEPTH = 16;
+
+    /** Most nodes the quiescence search visits below a leaf, kings with
+     * several capture paths can otherwise branch widely.*/
+    static final int QUIESCENCE_MAX_NODES = 1024;
+
+    /** Table shared with other searches.*/
+    private final TranspositionTable table;
+
+    /** Nodes the quiescence search of the current leaf has visited.*/
+    private int quiescenceNodes;
+
+    /** 0 for the main search, 1 and up for the helpers of a parallel search.*/
+    private final int helperId;
+
+    /** Parameters of the selective search.*/
+    private final SearchConfig config;
+
+    /** Moves of every ply of the current line.*/
+    private final MoveBuffer moves = new MoveBuffer();
+
+    /** Triangular table of principal variations, row p holds the line from ply p.*/
+    private final long[][] pvTable = new long[MoveBuffer.MAX_PLY][MoveBuffer.MAX_PLY];
+
+    /** Length of the principal variation of each ply.*/
+    private final int[] pvLength = new int[MoveBuffer.MAX_PLY];
+
+    /** Move pickers of every ply of the current line.*/
+    private final MovePicker[] pickers = new MovePicker[MoveBuffer.MAX_PLY];
+
+    /** Killer, history and counter move statistics.*/
+    private final MoveHistory history = new MoveHistory();
+
+    /** Evaluation kept up to date as moves are made and unmade.*/
+    private final Evaluator evaluator = new Evaluator();
+
+    /** Move being searched at every ply of the current line.*/
+    private final long[] currentLine = new long[MoveBuffer.MAX_PLY];
+
+    /** Position searched, made and unmade in place.*/
+    private Position position;
+
+    /** Principal variation of the last completed iteration.*/
+    private long[] principalVariation = new long[0];
+
+    /** Score of the last completed iteration.*/
+    private int score;
+
+    /** Depth of the last completed iteration.*/
+    private int completedDepth;
+
+    /** Positions visited by the current search.*/
+    private long nodes;
+
+    /** Clock of the current search, null when searching to a fixed depth.*/
+    private TimeManager timeManager;
+
+    /** Set to abort the running iteration.*/
+    private volatile boolean stopped;
+
+    /**
+     * Create a search using a transposition table.
+     * @param table table to store and probe searched positions.
+     */
+    public Search(TranspositionTable table){
+        this(table, 0);
+    }
+
+    /**
+     * Create a search that is one of the threads of a parallel search.
+     * @param table table shared by all threads of the search.
+     * @param helperId 0 for the main thread, 1 and up for helpers.
+     */
+    public Search(TranspositionTable table, int helperId){
+        this(table, helperId, SearchConfig.defaults());
+    }
+
+    /**
+     * Create a search with its own selective search parameters.
+     * @param table table shared by all threads of the search.
+     * @param helperId 0 for the main thread, 1 and up for helpers.
+     * @param config parameters of reductions and pruning.
+     */
+    public Search(TranspositionTable table, int helperId, SearchConfig config){
+        this.table = table;
+        this.helperId = helperId;
+        this.config = config;
+        for(int ply = 0; ply < this.pickers.length; ply++){
+            this.pickers[ply] = new MovePicker();
+        }
+    }
+
+    /**
+     * Search a position with iterative deepening to a fixed depth.
+     * @param root position to search, not modified.
+     * @param maxDepth deepest iteration to search, at least 1.
+     * @return best move, or Moves.NO_MOVE if the side to move has no moves.
+     */
+    public long search(Position root, int maxDepth){
+        return search(root, maxDepth, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     * A timed search returns a single legal move at once.
+     */
+    @Override
+    public long search(Position root, int maxDepth, TimeManager timeManager){
+        restart();
+        this.table.newSearch();
+        return iterate(root, maxDepth, timeManager);
+    }
+
+    /**
+     * Clear the stop flag before a search.
+     * A parallel search calls this before handing the search to its
+     * thread, so a stop issued meanwhile is never lost.
+     */
+    void restart(){
+        this.stopped = false;
+    }
+
+    /**
+     * Search a position with iterative deepening, without clearing the stop flag
+     * or starting a new table age; a parallel search ages the table once before
+     * starting any of its threads.
+     * @param root position to search, not modified.
+     * @param maxDepth deepest iteration to search, at least 1.
+     * @param timeManager clock of the search, null to search until stopped or maxDepth.
+     * @return best move, or Moves.NO_MOVE if the side to move has no moves.
+     */
+    long iterate(Position root, int maxDepth, TimeManager timeManager){
+        this.position = new Position(root);
+        this.evaluator.reset(this.position);
+        this.principalVariation = new long[0];
+        this.score = 0;
+        this.completedDepth = 0;
+        this.nodes = 0;
+        this.timeManager = timeManager;
+        this.history.newSearch();
+        int moveCount = MoveGenerator.generate(this.position, this.moves, 0);
+        if(moveCount == 0){
+            this.score = -WIN;
+            return Moves.NO_MOVE;
+        }
+        if(moveCount == 1 && timeManager != null){
+            this.principalVariation = new long[]{this.moves.get(0, 0)};
+            return getBestMove();
+        }
+        maxDepth = Math.min(maxDepth, MoveBuffer.MAX_PLY - 1);
+        /*Odd helpers run one ply ahead of the main search.*/
+        for(int depth = 1 + (this.helperId & 1); depth <= maxDepth; depth++){
+            int result = aspiration(depth, this.score);
+            if(this.stopped){
+                break;
+            }
+            this.score = result;
+            this.completedDepth = depth;
+            this.principalVariation = new long[this.pvLength[0]];
+            System.arraycopy(this.pvTable[0], 0, this.principalVariation, 0, this.pvLength[0]);
+            /*A forced win or loss will not change with more depth.*/
+            if(Math.abs(this.score) >= WIN_THRESHOLD && depth > WIN - Math.abs(this.score)){
+                break;
+            }
+            if(timeManager != null && !timeManager.nextIteration(getBestMove())){
+                break;
+            }
+        }
+        return getBestMove();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void stop(){
+        this.stopped = true;
+    }
+
+    /**
+     * Search the root with a window around the expected score,
+     * widening it until the score falls inside.
+     * @param depth depth of the iteration.
+     * @param expected score of the previous iteration.
+     * @return score of the root.
+     */
+    private int aspiration(int depth, int expected){
+        if(depth < ASPIRATION_DEPTH){
+            return negamax(depth, 0, -INFINITY, INFINITY);
+        }
+        int window = ASPIRATION_WINDOW;
+        int alpha = Math.max(expected - window, -INFINITY);
+        int beta = Math.min(expected + window, INFINITY);
+        while(true){
+            int result = negamax(depth, 0, alpha, beta);
+            if(this.stopped){
+                return result;
+            }
+            if(result <= alpha){
+                alpha = Math.max(result - window, -INFINITY);
+            }else if(result >= beta){
+                beta = Math.min(result + window, INFINITY);
+            }else{
+                return result;
+            }
+            window *= 2;
+        }
+    }
+
+    /**
+     * Negamax alpha-beta search with principal variation search.
+     * @param depth remaining depth.
+     * @param ply distance from the root.
+     * @param alpha lower bound of the window.
+     * @param beta upper bound of the window.
+     * @return score from the view of the side to move.
+     */
+    private int negamax(int depth, int ply, int alpha, int beta){
+        if(checkStopped()){
+            return 0;
+        }
+        if(depth <= 0){
+            return quiescence(ply, alpha, beta, 0);
+        }
+        this.nodes++;
+        this.pvLength[ply] = 0;
+        if(ply > 0){
+            int known = tablebaseScore();
+            if(known != Tablebase.NOT_FOUND){
+                return known;
+            }
+        }
+        int moveCount = MoveGenerator.generate(this.position, this.moves, ply);
+        /*No moves left, the side to move has lost.*/
+        if(moveCount == 0){
+            return -WIN + ply;
+        }
+        if(ply >= MoveBuffer.MAX_PLY - 1){
+            return this.evaluator.score(this.position);
+        }
+        boolean pvNode = beta - alpha > 1;
+        long key = this.position.getHash();
+        long entry = this.table.probe(key);
+        if(entry != 0){
+            if(!pvNode && TranspositionTable.depth(entry) >= depth){
+                int stored = fromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if(bound == TranspositionTable.BOUND_EXACT
+                        || (bound == TranspositionTable.BOUND_LOWER && stored >= beta)
+                        || (bound == TranspositionTable.BOUND_UPPER && stored <= alpha)){
+                    return stored;
+                }
+            }
+        }
+        boolean quiet = !Moves.isJump(this.moves.get(ply, 0));
+        /*ProbCut: a shallow search well above beta predicts that the full search fails high too.*/
+        if(!pvNode && this.config.isProbCut() && depth >= this.config.getProbCutMinDepth()
+                && Math.abs(beta) < WIN_THRESHOLD){
+            int probBeta = beta + this.config.getProbCutMargin();
+            int value = negamax(depth - this.config.getProbCutReduction(), ply, probBeta - 1, probBeta);
+            if(this.stopped){
+                return 0;
+            }
+            if(value >= probBeta){
+                return value;
+            }
+            /*The shallow search used this ply of the buffer, the same moves are there again.*/
+            moveCount = this.moves.count(ply);
+        }
+        /*Futility: quiet moves can not lift a hopeless static score to alpha this close to the leaves.*/
+        boolean futile = false;
+        if(!pvNode && quiet && this.config.isFutilityPruning() && depth <= this.config.getFutilityMaxDepth()
+                && Math.abs(alpha) < WIN_THRESHOLD){
+            futile = this.evaluator.score(this.position) + this.config.getFutilityMargin() * depth <= alpha;
+        }
+        if(this.helperId > 0){
+            rotateMoves(ply, moveCount);
+        }
+        int side = this.position.getSideToMove();
+        long previous = ply > 0 ? this.currentLine[ply - 1] : Moves.NO_MOVE;
+        MovePicker picker = this.pickers[ply];
+        picker.init(this.position, this.moves, ply, moveCount, entry, this.history, previous);
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        long bestMove = Moves.NO_MOVE;
+        int searched = 0;
+        long move;
+        while((move = picker.next()) != Moves.NO_MOVE){
+            boolean quietMove = quiet && !Moves.isPromotion(move);
+            if(futile && searched > 0 && quietMove){
+                continue;
+            }
+            this.currentLine[ply] = move;
+            this.evaluator.makeMove(this.position, move);
+            int value;
+            if(searched == 0){
+                value = -negamax(depth - 1, ply + 1, -beta, -alpha);
+            }else{
+                int reduction = quietMove ? this.config.reduction(depth, searched, pvNode) : 0;
+                /*Prove the move is worse than the first with a null window, late moves at reduced depth.*/
+                value = -negamax(depth - 1 - reduction, ply + 1, -alpha - 1, -alpha);
+                /*A reduced move that beats alpha is verified at full depth.*/
+                if(value > alpha && reduction > 0){
+                    value = -negamax(depth - 1, ply + 1, -alpha - 1, -alpha);
+                }
+                if(value > alpha && value < beta){
+                    value = -negamax(depth - 1, ply + 1, -beta, -alpha);
+                }
+            }
+            this.evaluator.unmakeMove(this.position);
+            searched++;
+            if(this.stopped){
+                return 0;
+            }
+            if(value > best){
+                best = value;
+                bestMove = move;
+                if(value > alpha){
+                    alpha = value;
+                    updatePrincipalVariation(ply, move);
+                    if(alpha >= beta){
+                        if(!Moves.isJump(move)){
+                            this.history.recordCutoff(side, ply, depth, move, previous);
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+        int bound = best >= beta ? TranspositionTable.BOUND_LOWER
+                : best > originalAlpha ? TranspositionTable.BOUND_EXACT : TranspositionTable.BOUND_UPPER;
+        this.table.store(key, bestMove, depth, bound, toTable(best, ply));
+        return best;
+    }
+
+    /**
+     * Quiescence search, extending a leaf through capture sequences
+     * until the side to move has no jump. A quiet position stands pat on
+     * its static evaluation; while a jump is pending the side to move
+     * must take it, so it can not stand pat and every jump is searched.
+     * Past QUIESCENCE_MAX_DEPTH plies or QUIESCENCE_MAX_NODES nodes below
+     * the leaf, positions are scored statically even with a jump pending.
+     * @param ply distance from the root.
+     * @param alpha lower bound of the window.
+     * @param beta upper bound of the window.
+     * @param qDepth capture plies searched below the leaf.
+     * @return score from the view of the side to move.
+     */
+    private int quiescence(int ply, int alpha, int beta, int qDepth){
+        if(checkStopped()){
+            return 0;
+        }
+        this.nodes++;
+        this.quiescenceNodes = qDepth == 0 ? 1 : this.quiescenceNodes + 1;
+        this.pvLength[ply] = 0;
+        int known = tablebaseScore();
+        if(known != Tablebase.NOT_FOUND){
+            return known;
+        }
+        int moveCount = MoveGenerator.generate(this.position, this.moves, ply);
+        if(moveCount == 0){
+            return -WIN + ply;
+        }
+        if(!Moves.isJump(this.moves.get(ply, 0)) || qDepth >= QUIESCENCE_MAX_DEPTH
+                || this.quiescenceNodes >= QUIESCENCE_MAX_NODES || ply >= MoveBuffer.MAX_PLY - 1){
+            return this.evaluator.score(this.position);
+        }
+        MovePicker picker = this.pickers[ply];
+        picker.init(this.position, this.moves, ply, moveCount, 0L, this.history, Moves.NO_MOVE);
+        int best = -INFINITY;
+        long move;
+        while((move = picker.next()) != Moves.NO_MOVE){
+            this.evaluator.makeMove(this.position, move);
+            int value = -quiescence(ply + 1, -beta, -alpha, qDepth + 1);
+            this.evaluator.unmakeMove(this.position);
+            if(this.stopped){
+                return 0;
+            }
+            if(value > best){
+                best = value;
+                if(value > alpha){
+                    alpha = value;
+                    if(alpha >= beta){
+                        break;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Score of the searched position from the endgame tablebase.
+     * @return score from the view of the side to move, or
+     * Tablebase.NOT_FOUND if the tablebase does not hold the position.
+     */
+    private int tablebaseScore(){
+        int value = this.config.getTablebase().probe(this.position);
+        if(value == Tablebase.NOT_FOUND || value == TablebaseValue.DRAW){
+            return value;
+        }
+        int distance = TablebaseValue.distance((short) value);
+        return value > 0 ? TABLEBASE_WIN - distance : distance - TABLEBASE_WIN;
+    }
+
+    /**
+     * Determine if the running iteration must be aborted, reading
+     * the clock every (CLOCK_CHECK_MASK + 1) nodes. The first
+     * iteration always completes so there is a move to play.
+     * @return true if the search is stopped.
+     */
+    private boolean checkStopped(){
+        if((this.nodes & CLOCK_CHECK_MASK) == 0 && this.timeManager != null
+                && this.completedDepth > 0 && this.timeManager.isHardExpired()){
+            this.stopped = true;
+        }
+        return this.stopped;
+    }
+
+    /**
+     * Rotate all moves of a ply but the first by an amount depending on
+     * the helper and ply, so helpers break ordering ties differently
+     * and explore the tree in different orders.
+     * @param ply ply of the moves.
+     * @param moveCount number of moves of the ply.
+     */
+    private void rotateMoves(int ply, int moveCount){
+        if(moveCount < 3){
+            return;
+        }
+        int shift = (this.helperId + ply) % (moveCount - 1);
+        for(int n = 0; n < shift; n++){
+            for(int i = 1; i < moveCount - 1; i++){
+                this.moves.swap(ply, i, i + 1);
+            }
+        }
+    }
+
+    /**
+     * Make a move followed by the principal variation of the
+     * next ply the new principal variation of a ply.
+     * @param ply ply the move is made at.
+     * @param move new best move of the ply.
+     */
+    private void updatePrincipalVariation(int ply, long move){
+        long[] line = this.pvTable[ply];
+        line[0] = move;
+        int childLength = ply + 1 < MoveBuffer.MAX_PLY ? this.pvLength[ply + 1] : 0;
+        System.arraycopy(this.pvTable[ply + 1], 0, line, 1, childLength);
+        this.pvLength[ply] = childLength + 1;
+    }
+
+    /**
+     * Convert a score to be stored in the table, wins are stored
+     * as distance from the stored position rather than from the root.
+     * @param score score at a ply.
+     * @param ply distance from the root.
+     * @return score to store.
+     */
+    private static int toTable(int score, int ply){
+        if(score >= WIN_THRESHOLD){
+            return score + ply;
+        }
+        if(score <= -WIN_THRESHOLD){
+            return score - ply;
+        }
+        return score;
+    }
+
+    /**
+     * Convert a score read from the table back to a score at a ply.
+     * @param score stored score.
+     * @param ply distance from the root.
+     * @return score at the ply.
+     */
+    private static int fromTable(int score, int ply){
+        if(score >= WIN_THRESHOLD){
+            return score - ply;
+        }
+        if(score <= -WIN_THRESHOLD){
+            return score + ply;
+        }
+        return score;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getBestMove(){
+        return this.principalVariation.length == 0 ? Moves.NO_MOVE : this.principalVariation[0];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long[] getPrincipalVariation(){
+        return this.principalVariation;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getScore(){
+        return this.score;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getCompletedDepth(){
+        return this.completedDepth;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getNodes(){
+        return this.nodes;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close(){
+    }
+}
@@ -0,0 +1,291 @@
+package search;
+
+import tablebase.Tablebase;
+
+/**
+ * Tunable parameters of the selective parts of Search: late move
+ * reductions, futility pruning and ProbCut, and the endgame tablebase
+ * it probes. Every technique can be switched off, which turns Search
+ * back into plain alpha-beta.
+ * A config may be shared by several searches but must not be changed
+ * while one of them runs.
+ */
+public class SearchConfig {
+
+    /** Reduce the depth of late quiet moves.*/
+    private boolean lateMoveReductions = true;
+    /** Smallest remaining depth at which moves are reduced.*/
+    private int reductionMinDepth = 3;
+    /** Moves searched at full depth before later ones are reduced.*/
+    private int reductionMoveCount = 3;
+    /** Plies a late move is reduced by.*/
+    private int reduction = 1;
+    /** Extra ply of reduction for very late moves outside the principal variation.*/
+    private int extraReduction = 1;
+
+    /** Skip quiet moves near the leaves that can not reach alpha.*/
+    private boolean futilityPruning = true;
+    /** Largest remaining depth at which moves are pruned.*/
+    private int futilityMaxDepth = 2;
+    /** Margin per ply of remaining depth added to the static evaluation.*/
+    private int futilityMargin = 90;
+
+    /** Cut nodes whose shallow search clears beta by a margin.*/
+    private boolean probCut = true;
+    /** Smallest remaining depth at which ProbCut is tried.*/
+    private int probCutMinDepth = 6;
+    /** Plies the ProbCut search is shallower than the node.*/
+    private int probCutReduction = 4;
+    /** Margin above beta the shallow search must reach.*/
+    private int probCutMargin = 120;
+
+    /** Endgame tablebase probed at every node with few enough pieces.*/
+    private Tablebase tablebase = Tablebase.getShared();
+
+    /**
+     * Create a config with every technique on and the default parameters.
+     * @return new config.
+     */
+    public static SearchConfig defaults(){
+        return new SearchConfig();
+    }
+
+    /**
+     * Create a config with every selective technique off.
+     * @return new config.
+     */
+    public static SearchConfig plain(){
+        SearchConfig config = new SearchConfig();
+        config.setLateMoveReductions(false);
+        config.setFutilityPruning(false);
+        config.setProbCut(false);
+        config.setTablebase(Tablebase.none());
+        return config;
+    }
+
+    /**
+     * Plies a late move is reduced by.
+     * @param depth remaining depth of the node.
+     * @param moveNumber number of moves already searched at the node.
+     * @param pvNode true inside the principal variation.
+     * @return reduction, 0 if the move is searched at full depth.
+     */
+    int reduction(int depth, int moveNumber, boolean pvNode){
+        if(!this.lateMoveReductions || depth < this.reductionMinDepth || moveNumber < this.reductionMoveCount){
+            return 0;
+        }
+        int plies = this.reduction;
+        if(!pvNode && moveNumber >= 2 * this.reductionMoveCount){
+            plies += this.extraReduction;
+        }
+        return Math.min(plies, depth - 1);
+    }
+
+    /**
+     * Reduce the depth of late quiet moves.
+     * @return true if enabled.
+     */
+    public boolean isLateMoveReductions(){
+        return this.lateMoveReductions;
+    }
+
+    /**
+     * Set: reduce the depth of late quiet moves.
+     * @param lateMoveReductions true to enable.
+     */
+    public void setLateMoveReductions(boolean lateMoveReductions){
+        this.lateMoveReductions = lateMoveReductions;
+    }
+
+    /**
+     * Smallest remaining depth at which moves are reduced.
+     * @return smallest remaining depth at which moves are reduced.
+     */
+    public int getReductionMinDepth(){
+        return this.reductionMinDepth;
+    }
+
+    /**
+     * Set: smallest remaining depth at which moves are reduced.
+     * @param reductionMinDepth new value.
+     */
+    public void setReductionMinDepth(int reductionMinDepth){
+        this.reductionMinDepth = reductionMinDepth;
+    }
+
+    /**
+     * Moves searched at full depth before later ones are reduced.
+     * @return moves searched at full depth before later ones are reduced.
+     */
+    public int getReductionMoveCount(){
+        return this.reductionMoveCount;
+    }
+
+    /**
+     * Set: moves searched at full depth before later ones are reduced.
+     * @param reductionMoveCount new value.
+     */
+    public void setReductionMoveCount(int reductionMoveCount){
+        this.reductionMoveCount = reductionMoveCount;
+    }
+
+    /**
+     * Plies a late move is reduced by.
+     * @return plies a late move is reduced by.
+     */
+    public int getReduction(){
+        return this.reduction;
+    }
+
+    /**
+     * Set: plies a late move is reduced by.
+     * @param reduction new value.
+     */
+    public void setReduction(int reduction){
+        this.reduction = reduction;
+    }
+
+    /**
+     * Extra ply of reduction for very late moves outside the principal variation.
+     * @return extra ply of reduction for very late moves outside the principal variation.
+     */
+    public int getExtraReduction(){
+        return this.extraReduction;
+    }
+
+    /**
+     * Set: extra ply of reduction for very late moves outside the principal variation.
+     * @param extraReduction new value.
+     */
+    public void setExtraReduction(int extraReduction){
+        this.extraReduction = extraReduction;
+    }
+
+    /**
+     * Skip quiet moves near the leaves that can not reach alpha.
+     * @return true if enabled.
+     */
+    public boolean isFutilityPruning(){
+        return this.futilityPruning;
+    }
+
+    /**
+     * Set: skip quiet moves near the leaves that can not reach alpha.
+     * @param futilityPruning true to enable.
+     */
+    public void setFutilityPruning(boolean futilityPruning){
+        this.futilityPruning = futilityPruning;
+    }
+
+    /**
+     * Largest remaining depth at which moves are pruned.
+     * @return largest remaining depth at which moves are pruned.
+     */
+    public int getFutilityMaxDepth(){
+        return this.futilityMaxDepth;
+    }
+
+    /**
+     * Set: largest remaining depth at which moves are pruned.
+     * @param futilityMaxDepth new value.
+     */
+    public void setFutilityMaxDepth(int futilityMaxDepth){
+        this.futilityMaxDepth = futilityMaxDepth;
+    }
+
+    /**
+     * Margin per ply of remaining depth added to the static evaluation.
+     * @return margin per ply of remaining depth added to the static evaluation.
+     */
+    public int getFutilityMargin(){
+        return this.futilityMargin;
+    }
+
+    /**
+     * Set: margin per ply of remaining depth added to the static evaluation.
+     * @param futilityMargin new value.
+     */
+    public void setFutilityMargin(int futilityMargin){
+        this.futilityMargin = futilityMargin;
+    }
+
+    /**
+     * Cut nodes whose shallow search clears beta by a margin.
+     * @return true if enabled.
+     */
+    public boolean isProbCut(){
+        return this.probCut;
+    }
+
+    /**
+     * Set: cut nodes whose shallow search clears beta by a margin.
+     * @param probCut true to enable.
+     */
+    public void setProbCut(boolean probCut){
+        this.probCut = probCut;
+    }
+
+    /**
+     * Smallest remaining depth at which ProbCut is tried.
+     * @return smallest remaining depth at which ProbCut is tried.
+     */
+    public int getProbCutMinDepth(){
+        return this.probCutMinDepth;
+    }
+
+    /**
+     * Set: smallest remaining depth at which ProbCut is tried.
+     * @param probCutMinDepth new value.
+     */
+    public void setProbCutMinDepth(int probCutMinDepth){
+        this.probCutMinDepth = probCutMinDepth;
+    }
+
+    /**
+     * Plies the ProbCut search is shallower than the node.
+     * @return plies the ProbCut search is shallower than the node.
+     */
+    public int getProbCutReduction(){
+        return this.probCutReduction;
+    }
+
+    /**
+     * Set: plies the ProbCut search is shallower than the node.
+     * @param probCutReduction new value.
+     */
+    public void setProbCutReduction(int probCutReduction){
+        this.probCutReduction = probCutReduction;
+    }
+
+    /**
+     * Margin above beta the shallow search must reach.
+     * @return margin above beta the shallow search must reach.
+     */
+    public int getProbCutMargin(){
+        return this.probCutMargin;
+    }
+
+    /**
+     * Set: margin above beta the shallow search must reach.
+     * @param probCutMargin new value.
+     */
+    public void setProbCutMargin(int probCutMargin){
+        this.probCutMargin = probCutMargin;
+    }
+
+    /**
+     * Endgame tablebase probed at every node with few enough pieces.
+     * @return tablebase, Tablebase.none() if disabled.
+     */
+    public Tablebase getTablebase(){
+        return this.tablebase;
+    }
+
+    /**
+     * Set: endgame tablebase probed at every node with few enough pieces.
+     * @param tablebase new tablebase, Tablebase.none() to disable probing.
+     */
+    public void setTablebase(Tablebase tablebase){
+        this.tablebase = tablebase;
+    }
+}
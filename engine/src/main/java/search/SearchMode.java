@@ -0,0 +1,56 @@
+package search;
+
+/**
+ * Search strategies a computer player can use.
+ * The strategy and thread count are chosen with the system
+ * properties MODE_PROPERTY and THREADS_PROPERTY.
+ */
+public enum SearchMode {
+
+    /** One thread, the plain alpha-beta Search.*/
+    SINGLE,
+    /** Shared transposition table parallel search, see LazySmpSearch.*/
+    LAZY_SMP,
+    /** Deterministic work stealing parallel search, see ForkJoinSearch.*/
+    FORK_JOIN;
+
+    /** System property naming the search mode, e.g. -Dcheckers.search=LAZY_SMP.*/
+    public static final String MODE_PROPERTY = "checkers.search";
+
+    /** System property giving the number of search threads, e.g. -Dcheckers.threads=8.*/
+    public static final String THREADS_PROPERTY = "checkers.threads";
+
+    /**
+     * Create a search of this mode.
+     * @param table transposition table of the search, not used by FORK_JOIN.
+     * @param threads number of searching threads, ignored by SINGLE.
+     * @return new search.
+     */
+    public ISearch create(TranspositionTable table, int threads){
+        switch(this){
+            case LAZY_SMP:
+                return new LazySmpSearch(table, threads);
+            case FORK_JOIN:
+                return new ForkJoinSearch(threads);
+            case SINGLE:
+            default:
+                return new Search(table);
+        }
+    }
+
+    /**
+     * Create the search configured by the system properties.
+     * Without a mode property, LAZY_SMP is used when more than
+     * one thread is configured and SINGLE otherwise.
+     * @param table transposition table of the search.
+     * @return new search.
+     */
+    public static ISearch fromProperties(TranspositionTable table){
+        int threads = Math.max(1, Integer.getInteger(THREADS_PROPERTY, 1));
+        String mode = System.getProperty(MODE_PROPERTY);
+        if(mode == null){
+            return (threads > 1 ? LAZY_SMP : SINGLE).create(table, threads);
+        }
+        return valueOf(mode.trim().toUpperCase()).create(table, threads);
+    }
+}
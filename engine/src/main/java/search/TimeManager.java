@@ -0,0 +1,88 @@
+package search;
+
+/**
+ * Decides how long a search may run.
+ * The soft deadline is checked between iterations of the iterative
+ * deepening: no new iteration starts after it, and it is pulled in
+ * once the best move has stayed the same for (STABLE_ITERATIONS).
+ * The hard deadline is checked inside the search, which aborts the
+ * running iteration when it passes.
+ * The deadlines may be read by several search threads at once, the
+ * iteration bookkeeping is only done by the thread driving the search.
+ */
+public final class TimeManager {
+
+    /** Iterations with the same best move after which the move is trusted.*/
+    public static final int STABLE_ITERATIONS = 4;
+
+    /** Part of the budget after which no new iteration is started.*/
+    private static final int SOFT_PERCENT = 50;
+
+    /** Part of the budget used once the best move is stable.*/
+    private static final int STABLE_PERCENT = 20;
+
+    /** Time the search started, in nanoseconds.*/
+    private final long startTime;
+
+    /** Time budget of the search, in nanoseconds.*/
+    private final long budget;
+
+    /** Time after which the running iteration is aborted, in nanoseconds.*/
+    private final long hardDeadline;
+
+    /** Best move of the last finished iteration.*/
+    private long lastBestMove;
+
+    /** Consecutive iterations that finished with the same best move.*/
+    private int stableIterations;
+
+    /**
+     * Start timing a search.
+     * @param budgetMillis time the search may use, in milliseconds.
+     */
+    public TimeManager(long budgetMillis){
+        this.startTime = System.nanoTime();
+        this.budget = Math.max(1, budgetMillis) * 1000000L;
+        this.hardDeadline = this.startTime + this.budget;
+    }
+
+    /**
+     * Record a finished iteration and decide if another one is started.
+     * @param bestMove best move of the iteration.
+     * @return true to search one more ply.
+     */
+    public boolean nextIteration(long bestMove){
+        if(bestMove == this.lastBestMove){
+            this.stableIterations++;
+        }else{
+            this.lastBestMove = bestMove;
+            this.stableIterations = 1;
+        }
+        int percent = this.stableIterations >= STABLE_ITERATIONS ? STABLE_PERCENT : SOFT_PERCENT;
+        return elapsed() < this.budget / 100 * percent;
+    }
+
+    /**
+     * Determine if the hard deadline has passed.
+     * @return true if the running iteration must be aborted.
+     */
+    public boolean isHardExpired(){
+        return System.nanoTime() - this.hardDeadline >= 0;
+    }
+
+    /**
+     * Time since the search started.
+     * @return elapsed time in milliseconds.
+     */
+    public long getElapsedMillis(){
+        return elapsed() / 1000000L;
+    }
+
+    /**
+     * Time since the search started.
+     * @return elapsed time in nanoseconds.
+     */
+    private long elapsed(){
+        return System.nanoTime() - this.startTime;
+    }
+}
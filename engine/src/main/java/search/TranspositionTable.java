@@ -0,0 +1,290 @@
+package search;
+
+import engine.Moves;
+
+import java.util.Arrays;
+
+/**
+ * Transposition table shared by every search thread without locks.
+ * Each entry is two longs: a data word packing a compact key of the
+ * best move, the score, depth, bound and age, and a check word holding
+ * the Zobrist key xor-ed with the data word.
+ * A probe only accepts an entry whose check word xor-ed with its data
+ * word gives back the key, so an entry torn by two threads writing at
+ * once reads as a miss instead of as a wrong score or move.
+ * Entries are grouped in buckets of (BUCKET_SIZE) that share one cache
+ * line; when storing, the entry of the same key is reused, otherwise the
+ * shallowest entry of the oldest search is replaced.
+ */
+public final class TranspositionTable {
+
+    /** Size in megabytes used when none is configured.*/
+    public static final int DEFAULT_SIZE_MB = 32;
+
+    /** System property giving the size in megabytes of the shared table.*/
+    public static final String SIZE_PROPERTY = "checkers.hashMb";
+
+    /** Score is exact.*/
+    public static final int BOUND_EXACT = 1;
+
+    /** Score is a lower bound, the search failed high.*/
+    public static final int BOUND_LOWER = 2;
+
+    /** Score is an upper bound, the search failed low.*/
+    public static final int BOUND_UPPER = 3;
+
+    /** Largest depth an entry can record.*/
+    public static final int MAX_DEPTH = 127;
+
+    /** Entries per bucket, 4 x 16 bytes fill a 64 byte cache line.*/
+    private static final int BUCKET_SIZE = 4;
+
+    /** Longs per entry.*/
+    private static final int ENTRY_LONGS = 2;
+
+    /** Longs per bucket.*/
+    private static final int BUCKET_LONGS = BUCKET_SIZE * ENTRY_LONGS;
+
+    /** Shift of the score field of the data word, the move key is below it.*/
+    private static final int SCORE_SHIFT = 32;
+
+    /** Shift of the depth field of the data word.*/
+    private static final int DEPTH_SHIFT = 48;
+
+    /** Shift of the bound field of the data word.*/
+    private static final int BOUND_SHIFT = 55;
+
+    /** Shift of the age field of the data word.*/
+    private static final int AGE_SHIFT = 57;
+
+    /** Number of distinct ages before they wrap around.*/
+    private static final int AGE_COUNT = 64;
+
+    /** Table shared by the computer players, sized from SIZE_PROPERTY.*/
+    private static final TranspositionTable SHARED =
+            new TranspositionTable(Integer.getInteger(SIZE_PROPERTY, DEFAULT_SIZE_MB));
+
+    /** Entries, bucket b uses [b * 8, b * 8 + 8), check word first.*/
+    private long[] table;
+
+    /** Age of the current search, stored in every written entry.*/
+    private volatile int age;
+
+    /**
+     * Create a table using at most a given amount of memory.
+     * The bucket count is rounded down to a power of two.
+     * @param megabytes table size in megabytes, at least 1.
+     */
+    public TranspositionTable(int megabytes){
+        resize(megabytes);
+    }
+
+    /**
+     * Retrieve the table shared by all computer players.
+     * @return shared table.
+     */
+    public static TranspositionTable getShared(){
+        return SHARED;
+    }
+
+    /**
+     * Reallocate the table with a new size, discarding all entries.
+     * Must not be called while a search uses the table.
+     * @param megabytes table size in megabytes, at least 1.
+     */
+    public synchronized void resize(int megabytes){
+        long bytes = Math.max(1, megabytes) * 1024L * 1024L;
+        long buckets = Long.highestOneBit(bytes / (BUCKET_LONGS * 8));
+        /*Keep the long array addressable by an int index.*/
+        buckets = Math.min(buckets, 1L << 27);
+        this.table = new long[(int) buckets * BUCKET_LONGS];
+        this.age = 0;
+    }
+
+    /**
+     * Remove every entry.
+     * Must not be called while a search uses the table.
+     */
+    public void clear(){
+        Arrays.fill(this.table, 0L);
+        this.age = 0;
+    }
+
+    /**
+     * Start a new search, entries of earlier searches become
+     * the first candidates for replacement.
+     */
+    public void newSearch(){
+        this.age = (this.age + 1) & (AGE_COUNT - 1);
+    }
+
+    /**
+     * Size of the table.
+     * @return number of entries.
+     */
+    public int getCapacity(){
+        return this.table.length / ENTRY_LONGS;
+    }
+
+    /**
+     * Look up the entry of a position.
+     * @param key Zobrist hash of the position.
+     * @return data word of the entry (read with the static accessors),
+     *         or 0 if the position is not in the table.
+     */
+    public long probe(long key){
+        long[] entries = this.table;
+        int index = bucketIndex(key, entries);
+        for(int i = 0; i < BUCKET_SIZE; i++, index += ENTRY_LONGS){
+            long data = entries[index + 1];
+            if(data != 0 && (entries[index] ^ data) == key){
+                return data;
+            }
+        }
+        return 0L;
+    }
+
+    /**
+     * Store the result of searching a position.
+     * @param key Zobrist hash of the position.
+     * @param move best move found, or Moves.NO_MOVE.
+     * @param depth remaining depth of the search, 0 - MAX_DEPTH.
+     * @param bound BOUND_EXACT, BOUND_LOWER or BOUND_UPPER.
+     * @param score score of the position, fits in 16 bits.
+     */
+    public void store(long key, long move, int depth, int bound, int score){
+        long[] entries = this.table;
+        int base = bucketIndex(key, entries);
+        int currentAge = this.age;
+        int replace = base;
+        int replaceWorth = Integer.MAX_VALUE;
+        long moveKey = moveKey(move);
+        for(int i = 0, index = base; i < BUCKET_SIZE; i++, index += ENTRY_LONGS){
+            long data = entries[index + 1];
+            if(data == 0 || (entries[index] ^ data) == key){
+                replace = index;
+                /*Same position: keep a deeper result of this search and its move.*/
+                if(data != 0){
+                    if(depth(data) > depth && age(data) == currentAge && bound != BOUND_EXACT){
+                        return;
+                    }
+                    if(move == Moves.NO_MOVE){
+                        moveKey = data & 0xFFFFFFFFL;
+                    }
+                }
+                break;
+            }
+            /*Entries of older searches lose their worth quickly.*/
+            int worth = depth(data) - 8 * ((currentAge - age(data)) & (AGE_COUNT - 1));
+            if(worth < replaceWorth){
+                replaceWorth = worth;
+                replace = index;
+            }
+        }
+        long data = moveKey
+                | ((score & 0xFFFFL) << SCORE_SHIFT)
+                | ((long) Math.min(Math.max(depth, 0), MAX_DEPTH) << DEPTH_SHIFT)
+                | ((long) bound << BOUND_SHIFT)
+                | ((long) currentAge << AGE_SHIFT);
+        entries[replace] = key ^ data;
+        entries[replace + 1] = data;
+    }
+
+    /**
+     * Permille of the sampled entries written by the current search.
+     * @return usage 0 - 1000.
+     */
+    public int hashFull(){
+        long[] entries = this.table;
+        int samples = Math.min(1000, entries.length / ENTRY_LONGS);
+        int used = 0;
+        for(int i = 0; i < samples; i++){
+            long data = entries[i * ENTRY_LONGS + 1];
+            if(data != 0 && age(data) == this.age){
+                used++;
+            }
+        }
+        return samples == 0 ? 0 : used * 1000 / samples;
+    }
+
+    /**
+     * Compact key of a move stored in the table: its from and to squares
+     * and flags, plus its captured squares folded to 20 bits.
+     * @param move packed move.
+     * @return move key, 0 for Moves.NO_MOVE.
+     */
+    public static long moveKey(long move){
+        if(move == Moves.NO_MOVE){
+            return 0L;
+        }
+        int captured = Moves.captured(move);
+        long folded = (captured ^ (captured >>> 20)) & 0xFFFFFL;
+        return ((move >>> 32) & 0xFFFL) | (folded << 12);
+    }
+
+    /**
+     * Determine if a generated move is the best move of an entry.
+     * @param data data word returned by probe.
+     * @param move packed move.
+     * @return true if the entry holds this move.
+     */
+    public static boolean isMove(long data, long move){
+        return move != Moves.NO_MOVE && (data & 0xFFFFFFFFL) == moveKey(move);
+    }
+
+    /**
+     * Determine if an entry holds a best move.
+     * @param data data word returned by probe.
+     * @return true if a move was stored.
+     */
+    public static boolean hasMove(long data){
+        return (data & 0xFFFFFFFFL) != 0;
+    }
+
+    /**
+     * Score of an entry.
+     * @param data data word returned by probe.
+     * @return stored score.
+     */
+    public static int score(long data){
+        return (short) (data >>> SCORE_SHIFT);
+    }
+
+    /**
+     * Remaining depth the entry was searched to.
+     * @param data data word returned by probe.
+     * @return depth 0 - MAX_DEPTH.
+     */
+    public static int depth(long data){
+        return (int) (data >>> DEPTH_SHIFT) & MAX_DEPTH;
+    }
+
+    /**
+     * Bound type of the stored score.
+     * @param data data word returned by probe.
+     * @return BOUND_EXACT, BOUND_LOWER or BOUND_UPPER.
+     */
+    public static int bound(long data){
+        return (int) (data >>> BOUND_SHIFT) & 3;
+    }
+
+    /**
+     * Age of the search that wrote an entry.
+     * @param data data word returned by probe.
+     * @return age 0 - 63.
+     */
+    private static int age(long data){
+        return (int) (data >>> AGE_SHIFT) & (AGE_COUNT - 1);
+    }
+
+    /**
+     * Index of the first long of the bucket of a key.
+     * @param key Zobrist hash.
+     * @param entries table the index is for.
+     * @return array index.
+     */
+    private static int bucketIndex(long key, long[] entries){
+        int mask = entries.length / BUCKET_LONGS - 1;
+        return ((int) key & mask) * BUCKET_LONGS;
+    }
+}
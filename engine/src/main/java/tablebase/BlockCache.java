@@ -0,0 +1,114 @@
+package tablebase;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of inflated tablebase blocks, the least recently used
+ * block is dropped first. The cache is split into segments that are
+ * locked separately, so search threads probing different blocks rarely
+ * wait for each other. A block missing from the cache is inflated by
+ * the thread asking for it, outside any lock.
+ */
+final class BlockCache {
+
+    /** Number of separately locked segments, a power of two.*/
+    private static final int SEGMENTS = 16;
+
+    /** Segments, a block belongs to the segment picked by its key.*/
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    /**
+     * Create a cache.
+     * @param capacity most blocks kept, at least one per segment.
+     */
+    BlockCache(int capacity){
+        for(int i = 0; i < SEGMENTS; i++){
+            this.segments[i] = new Segment(Math.max(1, capacity / SEGMENTS));
+        }
+    }
+
+    /**
+     * Key of a block.
+     * @param table key of the table's signature.
+     * @param block block number within the table.
+     * @return cache key.
+     */
+    static long key(int table, int block){
+        return ((long) table << 32) | block;
+    }
+
+    /**
+     * Retrieve a cached block and mark it as recently used.
+     * @param key key of the block.
+     * @return values of the block, or null if not cached.
+     */
+    short[] get(long key){
+        Segment segment = segment(key);
+        synchronized(segment){
+            return segment.get(key);
+        }
+    }
+
+    /**
+     * Add a block, dropping the least recently used block of its segment if full.
+     * @param key key of the block.
+     * @param values values of the block.
+     */
+    void put(long key, short[] values){
+        Segment segment = segment(key);
+        synchronized(segment){
+            segment.put(key, values);
+        }
+    }
+
+    /**
+     * Drop every block.
+     */
+    void clear(){
+        for(Segment segment : this.segments){
+            synchronized(segment){
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Segment of a key, neighbouring blocks go to different segments.
+     * @param key key of a block.
+     * @return its segment.
+     */
+    private Segment segment(long key){
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return this.segments[(int) (mixed >>> 60) & (SEGMENTS - 1)];
+    }
+
+    /**
+     * One segment, an access ordered map dropping its eldest entry when full.
+     */
+    private static final class Segment extends LinkedHashMap<Long, short[]> {
+
+        /** LinkedHashMap is Serializable, segments are only ever held in memory.*/
+        private static final long serialVersionUID = 1L;
+
+        /** Most blocks kept by the segment.*/
+        private final int capacity;
+
+        /**
+         * Create a segment.
+         * @param capacity most blocks kept.
+         */
+        Segment(int capacity){
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, short[]> eldest){
+            return size() > this.capacity;
+        }
+    }
+}
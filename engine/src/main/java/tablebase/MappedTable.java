@@ -0,0 +1,131 @@
+package tablebase;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Table file of one signature mapped into memory with FileChannel.map.
+ * The compressed blocks stay in the mapping, off the heap, and are paged
+ * in by the operating system as they are read. Blocks can be inflated by
+ * many threads at once, every thread uses an inflater of its own.
+ */
+final class MappedTable {
+
+    /** Inflater of every thread inflating blocks.*/
+    private static final ThreadLocal<Inflater> INFLATERS = new ThreadLocal<>();
+
+    /** Signature of the table.*/
+    private final MaterialSignature signature;
+
+    /** The whole file, read only.*/
+    private final MappedByteBuffer buffer;
+
+    /** File offset of every block and one past the last.*/
+    private final int[] offsets;
+
+    /**
+     * Create a table over a mapped file.
+     * @param signature signature of the table.
+     * @param buffer the mapped file.
+     * @param offsets file offset of every block and one past the last.
+     */
+    private MappedTable(MaterialSignature signature, MappedByteBuffer buffer, int[] offsets){
+        this.signature = signature;
+        this.buffer = buffer;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Map a table file.
+     * @param path file to map.
+     * @param signature signature the file must hold.
+     * @return mapped table.
+     * @throws IOException if the file can not be mapped or is damaged.
+     */
+    static MappedTable open(Path path, MaterialSignature signature) throws IOException{
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)){
+            if(channel.size() > Integer.MAX_VALUE){
+                throw new IOException("Table file too large to map: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            TablebaseFile.checkHeader(buffer, signature, path);
+            int[] offsets = new int[TablebaseFile.blockCount(signature) + 1];
+            for(int i = 0; i < offsets.length; i++){
+                long offset = buffer.getLong();
+                if(offset < 0 || offset > channel.size() || (i > 0 && offset < offsets[i - 1])){
+                    throw new IOException("Damaged table file: " + path);
+                }
+                offsets[i] = (int) offset;
+            }
+            if(offsets[offsets.length - 1] != channel.size()){
+                throw new IOException("Incomplete table file: " + path);
+            }
+            return new MappedTable(signature, buffer, offsets);
+        }
+    }
+
+    /**
+     * Inflate one block.
+     * @param block block number.
+     * @return values of the block, shorter than BLOCK_VALUES only for the last block.
+     * @throws IllegalStateException if the block is damaged.
+     */
+    short[] decompress(int block){
+        int start = this.offsets[block];
+        byte[] compressed = new byte[this.offsets[block + 1] - start];
+        ByteBuffer view = this.buffer.duplicate();
+        view.position(start);
+        view.get(compressed);
+        long first = (long) block * TablebaseFile.BLOCK_VALUES;
+        short[] values = new short[(int) Math.min(TablebaseFile.BLOCK_VALUES, this.signature.getSize() - first)];
+        byte[] raw = new byte[2 * values.length];
+        Inflater inflater = INFLATERS.get();
+        if(inflater == null){
+            inflater = new Inflater();
+            INFLATERS.set(inflater);
+        }
+        inflater.reset();
+        inflater.setInput(compressed);
+        try{
+            int length = 0;
+            while(length < raw.length){
+                int inflated = inflater.inflate(raw, length, raw.length - length);
+                if(inflated == 0 && (inflater.finished() || inflater.needsInput())){
+                    break;
+                }
+                length += inflated;
+            }
+            if(length != raw.length){
+                throw new IllegalStateException("Short block " + block + " of " + this.signature);
+            }
+        }catch(DataFormatException e){
+            throw new IllegalStateException("Damaged block " + block + " of " + this.signature, e);
+        }
+        for(int i = 0; i < values.length; i++){
+            values[i] = (short) ((raw[2 * i] << 8) | (raw[2 * i + 1] & 0xFF));
+        }
+        return values;
+    }
+
+    /**
+     * Signature of the table.
+     * @return material signature.
+     */
+    MaterialSignature getSignature(){
+        return this.signature;
+    }
+
+    /**
+     * Number of blocks of the table.
+     * @return block count.
+     */
+    int getBlockCount(){
+        return this.offsets.length - 1;
+    }
+}
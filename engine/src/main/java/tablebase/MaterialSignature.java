@@ -0,0 +1,392 @@
+package tablebase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Material of an endgame: the number of white men, white kings,
+ * black men and black kings. Every signature has one table of values
+ * for the positions with white to move, positions with black to move
+ * are looked up in the flipped signature with the board turned around.
+ * <p>
+ * The index of a position is built by placing the pieces in a fixed
+ * order, each group ranked with the combinatorial number system:
+ * white men on the 28 squares off row 7, black men on the 28 squares
+ * off row 0, then white kings and black kings on the squares still
+ * free. Kings are ranked among the free squares, so only men of the
+ * two sides landing on the same square leave unused indexes.
+ */
+public final class MaterialSignature implements Comparable<MaterialSignature> {
+
+    /** Squares a man can stand on, the squares off its promotion row.*/
+    public static final int MAN_SQUARES = 28;
+
+    /** Most pieces of one side.*/
+    public static final int MAX_SIDE_PIECES = 12;
+
+    /** Binomial coefficients, BINOMIAL[n][k] = n over k for n up to 32.*/
+    private static final long[][] BINOMIAL = new long[33][MAX_SIDE_PIECES + 1];
+
+    /** First square a black man can stand on.*/
+    private static final int BLACK_MAN_OFFSET = 4;
+
+    static{
+        for(int n = 0; n <= 32; n++){
+            BINOMIAL[n][0] = 1;
+            for(int k = 1; k <= MAX_SIDE_PIECES; k++){
+                BINOMIAL[n][k] = n == 0 ? 0 : BINOMIAL[n - 1][k - 1] + BINOMIAL[n - 1][k];
+            }
+        }
+    }
+
+    /** Number of white men.*/
+    private final int whiteMen;
+
+    /** Number of white kings.*/
+    private final int whiteKings;
+
+    /** Number of black men.*/
+    private final int blackMen;
+
+    /** Number of black kings.*/
+    private final int blackKings;
+
+    /** Number of indexes of the signature.*/
+    private final long size;
+
+    /**
+     * Create a signature.
+     * @param whiteMen number of white men.
+     * @param whiteKings number of white kings.
+     * @param blackMen number of black men.
+     * @param blackKings number of black kings.
+     */
+    public MaterialSignature(int whiteMen, int whiteKings, int blackMen, int blackKings){
+        if(whiteMen < 0 || whiteKings < 0 || blackMen < 0 || blackKings < 0
+                || whiteMen + whiteKings > MAX_SIDE_PIECES || blackMen + blackKings > MAX_SIDE_PIECES){
+            throw new IllegalArgumentException("Invalid material " + whiteMen + "/" + whiteKings
+                    + "/" + blackMen + "/" + blackKings);
+        }
+        this.whiteMen = whiteMen;
+        this.whiteKings = whiteKings;
+        this.blackMen = blackMen;
+        this.blackKings = blackKings;
+        int free = 32 - whiteMen - blackMen;
+        this.size = BINOMIAL[MAN_SQUARES][whiteMen] * BINOMIAL[MAN_SQUARES][blackMen]
+                * BINOMIAL[free][whiteKings] * BINOMIAL[free - whiteKings][blackKings];
+    }
+
+    /**
+     * Signature of the pieces on a board.
+     * @param white bitboard of the white pieces.
+     * @param black bitboard of the black pieces.
+     * @param kings bitboard of the kings.
+     * @return new signature.
+     */
+    public static MaterialSignature of(int white, int black, int kings){
+        return new MaterialSignature(Integer.bitCount(white & ~kings), Integer.bitCount(white & kings),
+                Integer.bitCount(black & ~kings), Integer.bitCount(black & kings));
+    }
+
+    /**
+     * Every signature with one to maxPieces pieces, in the order
+     * they can be solved: fewer pieces first, then fewer men, so the
+     * signatures a capture or promotion leads to come earlier.
+     * @param maxPieces largest number of pieces.
+     * @return signatures sorted by solving order.
+     */
+    public static List<MaterialSignature> upTo(int maxPieces){
+        List<MaterialSignature> signatures = new ArrayList<MaterialSignature>();
+        for(int pieces = 1; pieces <= maxPieces; pieces++){
+            signatures.addAll(withPieces(pieces));
+        }
+        Collections.sort(signatures);
+        return signatures;
+    }
+
+    /**
+     * Every signature with a given number of pieces.
+     * @param pieces number of pieces.
+     * @return signatures sorted by solving order.
+     */
+    public static List<MaterialSignature> withPieces(int pieces){
+        List<MaterialSignature> signatures = new ArrayList<MaterialSignature>();
+        for(int whiteMen = 0; whiteMen <= pieces; whiteMen++){
+            for(int whiteKings = 0; whiteMen + whiteKings <= pieces; whiteKings++){
+                for(int blackMen = 0; whiteMen + whiteKings + blackMen <= pieces; blackMen++){
+                    int blackKings = pieces - whiteMen - whiteKings - blackMen;
+                    if(whiteMen + whiteKings <= MAX_SIDE_PIECES && blackMen + blackKings <= MAX_SIDE_PIECES){
+                        signatures.add(new MaterialSignature(whiteMen, whiteKings, blackMen, blackKings));
+                    }
+                }
+            }
+        }
+        Collections.sort(signatures);
+        return signatures;
+    }
+
+    /**
+     * Signature of the same material with the colors swapped.
+     * @return flipped signature.
+     */
+    public MaterialSignature flipped(){
+        return new MaterialSignature(this.blackMen, this.blackKings, this.whiteMen, this.whiteKings);
+    }
+
+    /**
+     * Turn a bitboard around, square s becomes square 31 - s.
+     * With the colors swapped this maps a position with black to move
+     * onto the same position seen from white.
+     * @param squares bitboard to turn.
+     * @return turned bitboard.
+     */
+    public static int flip(int squares){
+        return Integer.reverse(squares);
+    }
+
+    /**
+     * Index of a position of this signature.
+     * @param white bitboard of the white pieces.
+     * @param black bitboard of the black pieces.
+     * @param kings bitboard of the kings.
+     * @return index from 0 to getSize() - 1.
+     */
+    public long index(int white, int black, int kings){
+        int whiteMenSquares = white & ~kings;
+        int blackMenSquares = black & ~kings;
+        long index = rank(whiteMenSquares);
+        index = index * BINOMIAL[MAN_SQUARES][this.blackMen] + rank(blackMenSquares >>> BLACK_MAN_OFFSET);
+        int free = ~(whiteMenSquares | blackMenSquares);
+        int freeCount = 32 - this.whiteMen - this.blackMen;
+        index = index * BINOMIAL[freeCount][this.whiteKings] + rankAmong(white & kings, free);
+        free &= ~(white & kings);
+        freeCount -= this.whiteKings;
+        return index * BINOMIAL[freeCount][this.blackKings] + rankAmong(black & kings, free);
+    }
+
+    /**
+     * Position of an index of this signature, with white to move.
+     * @param index index from 0 to getSize() - 1.
+     * @param pieces receives white, black and kings bitboards at 0, 1 and 2.
+     * @return false for an unused index, white and black men on one square.
+     */
+    public boolean position(long index, int[] pieces){
+        int freeCount = 32 - this.whiteMen - this.blackMen;
+        long blackKingCount = BINOMIAL[freeCount - this.whiteKings][this.blackKings];
+        long whiteKingCount = BINOMIAL[freeCount][this.whiteKings];
+        long blackMenCount = BINOMIAL[MAN_SQUARES][this.blackMen];
+        long blackKingRank = index % blackKingCount;
+        index /= blackKingCount;
+        long whiteKingRank = index % whiteKingCount;
+        index /= whiteKingCount;
+        int blackMenSquares = unrank(index % blackMenCount, this.blackMen) << BLACK_MAN_OFFSET;
+        int whiteMenSquares = unrank(index / blackMenCount, this.whiteMen);
+        if((whiteMenSquares & blackMenSquares) != 0){
+            return false;
+        }
+        int free = ~(whiteMenSquares | blackMenSquares);
+        int whiteKingSquares = expand(unrank(whiteKingRank, this.whiteKings), free);
+        int blackKingSquares = expand(unrank(blackKingRank, this.blackKings), free & ~whiteKingSquares);
+        pieces[0] = whiteMenSquares | whiteKingSquares;
+        pieces[1] = blackMenSquares | blackKingSquares;
+        pieces[2] = whiteKingSquares | blackKingSquares;
+        return true;
+    }
+
+    /**
+     * Rank of a set in the combinatorial number system.
+     * @param set bitboard of the set, element i at bit i.
+     * @return sum of (element over its position + 1) over the sorted elements.
+     */
+    private static long rank(int set){
+        long rank = 0;
+        int k = 1;
+        while(set != 0){
+            rank += BINOMIAL[Integer.numberOfTrailingZeros(set)][k++];
+            set &= set - 1;
+        }
+        return rank;
+    }
+
+    /**
+     * Set of a given size with a given rank, the inverse of rank.
+     * @param rank rank of the set.
+     * @param count number of elements.
+     * @return bitboard of the set.
+     */
+    private static int unrank(long rank, int count){
+        int set = 0;
+        int element = 31;
+        for(int k = count; k > 0; k--){
+            while(BINOMIAL[element][k] > rank){
+                element--;
+            }
+            rank -= BINOMIAL[element][k];
+            set |= 1 << element;
+            element--;
+        }
+        return set;
+    }
+
+    /**
+     * Rank of a set of free squares, each numbered by its position among the free squares.
+     * @param squares bitboard of squares, all of them free.
+     * @param free bitboard of the free squares.
+     * @return rank of the numbered set.
+     */
+    private static long rankAmong(int squares, int free){
+        long rank = 0;
+        int k = 1;
+        while(squares != 0){
+            int square = squares & -squares;
+            squares ^= square;
+            rank += BINOMIAL[Integer.bitCount(free & (square - 1))][k++];
+        }
+        return rank;
+    }
+
+    /**
+     * Squares of a set numbered by position among the free squares, the inverse of rankAmong.
+     * @param positions bitboard with bit i set for the i-th free square.
+     * @param free bitboard of the free squares.
+     * @return bitboard of the squares.
+     */
+    private static int expand(int positions, int free){
+        int result = 0;
+        while(positions != 0 && free != 0){
+            int square = free & -free;
+            free ^= square;
+            if((positions & 1) != 0){
+                result |= square;
+            }
+            positions >>>= 1;
+        }
+        return result;
+    }
+
+    /**
+     * Number of indexes of the signature, unused ones included.
+     * @return number of indexes.
+     */
+    public long getSize(){
+        return this.size;
+    }
+
+    /**
+     * Total number of pieces.
+     * @return number of pieces.
+     */
+    public int getPieces(){
+        return this.whiteMen + this.whiteKings + this.blackMen + this.blackKings;
+    }
+
+    /**
+     * Total number of men.
+     * @return number of men.
+     */
+    public int getMen(){
+        return this.whiteMen + this.blackMen;
+    }
+
+    /**
+     * Number of white men.
+     * @return number of white men.
+     */
+    public int getWhiteMen(){
+        return this.whiteMen;
+    }
+
+    /**
+     * Number of white kings.
+     * @return number of white kings.
+     */
+    public int getWhiteKings(){
+        return this.whiteKings;
+    }
+
+    /**
+     * Number of black men.
+     * @return number of black men.
+     */
+    public int getBlackMen(){
+        return this.blackMen;
+    }
+
+    /**
+     * Number of black kings.
+     * @return number of black kings.
+     */
+    public int getBlackKings(){
+        return this.blackKings;
+    }
+
+    /**
+     * Name of the table file of the signature.
+     * @param extension file extension without the dot.
+     * @return file name such as "2-1-1-0.tb".
+     */
+    public String fileName(String extension){
+        return this.whiteMen + "-" + this.whiteKings + "-" + this.blackMen + "-" + this.blackKings + "." + extension;
+    }
+
+    /**
+     * Solving order: fewer pieces, then fewer men, then by counts.
+     * @param other signature to compare with.
+     * @return negative if this one is solved first.
+     */
+    @Override
+    public int compareTo(MaterialSignature other){
+        if(getPieces() != other.getPieces()){
+            return getPieces() - other.getPieces();
+        }
+        if(getMen() != other.getMen()){
+            return getMen() - other.getMen();
+        }
+        return key() - other.key();
+    }
+
+    /**
+     * The four counts packed into one int.
+     * @return packed counts, below 1 << 16.
+     */
+    int key(){
+        return key(this.whiteMen, this.whiteKings, this.blackMen, this.blackKings);
+    }
+
+    /**
+     * Four counts packed into one int, as key() of their signature.
+     * @param whiteMen number of white men.
+     * @param whiteKings number of white kings.
+     * @param blackMen number of black men.
+     * @param blackKings number of black kings.
+     * @return packed counts, below 1 << 16.
+     */
+    static int key(int whiteMen, int whiteKings, int blackMen, int blackKings){
+        return (((((whiteMen << 4) | whiteKings) << 4) | blackMen) << 4) | blackKings;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object other){
+        return other instanceof MaterialSignature && ((MaterialSignature) other).key() == key();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode(){
+        return key();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString(){
+        return this.whiteMen + "-" + this.whiteKings + "-" + this.blackMen + "-" + this.blackKings;
+    }
+}
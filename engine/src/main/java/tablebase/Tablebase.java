@@ -0,0 +1,158 @@
+package tablebase;
+
+import engine.Position;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Endgame tablebase opened for probing during search.
+ * Every table file is mapped with FileChannel.map, so the compressed
+ * tables live outside the heap and are paged in by the operating system.
+ * A probe inflates the block holding its index into a bounded cache
+ * shared by every thread probing the tablebase, the next probes into
+ * that block are a lookup in the cache.
+ * Probing is thread safe.
+ */
+public final class Tablebase {
+
+    /** Returned by probe for a position the tablebase does not hold.*/
+    public static final int NOT_FOUND = Integer.MIN_VALUE;
+
+    /** System property naming the directory of the shared tablebase, e.g. -Dcheckers.tablebase=/data/tb.*/
+    public static final String DIRECTORY_PROPERTY = "checkers.tablebase";
+
+    /** System property giving the block cache size in megabytes, e.g. -Dcheckers.tablebaseCacheMb=64.*/
+    public static final String CACHE_PROPERTY = "checkers.tablebaseCacheMb";
+
+    /** Default size of the block cache, in megabytes.*/
+    public static final int DEFAULT_CACHE_MB = 16;
+
+    /** Tablebase without any table.*/
+    private static final Tablebase NONE = new Tablebase();
+
+    /** Tablebase shared by the searches, opened on first use.*/
+    private static Tablebase shared;
+
+    /** Tables indexed by the key of their signature, null if missing.*/
+    private final MappedTable[] tables = new MappedTable[1 << 16];
+
+    /** Inflated blocks of every table.*/
+    private final BlockCache cache;
+
+    /** Largest number of pieces every position of which is held.*/
+    private final int maxPieces;
+
+    /**
+     * Create a tablebase without any table.
+     */
+    private Tablebase(){
+        this.cache = new BlockCache(0);
+        this.maxPieces = 0;
+    }
+
+    /**
+     * Open the tables of a directory. Tables are opened by number of
+     * pieces for as long as every signature of that number is present.
+     * @param directory directory of the table files.
+     * @param cacheMegabytes size of the block cache in megabytes.
+     * @throws IOException if a table file is damaged.
+     */
+    public Tablebase(Path directory, int cacheMegabytes) throws IOException{
+        this.cache = new BlockCache((int) (Math.max(1, cacheMegabytes) * 1024L * 1024L
+                / (2 * TablebaseFile.BLOCK_VALUES)));
+        int pieces = 0;
+        while(pieces < 2 * MaterialSignature.MAX_SIDE_PIECES){
+            List<MaterialSignature> signatures = MaterialSignature.withPieces(pieces + 1);
+            boolean complete = true;
+            for(MaterialSignature signature : signatures){
+                complete &= TablebaseFile.isComplete(directory, signature);
+            }
+            if(!complete){
+                break;
+            }
+            for(MaterialSignature signature : signatures){
+                this.tables[signature.key()] = MappedTable.open(TablebaseFile.path(directory, signature), signature);
+            }
+            pieces++;
+        }
+        this.maxPieces = pieces;
+    }
+
+    /**
+     * Tablebase without any table, every probe returns NOT_FOUND.
+     * @return empty tablebase.
+     */
+    public static Tablebase none(){
+        return NONE;
+    }
+
+    /**
+     * Tablebase shared by the computer players, opened from the
+     * directory in DIRECTORY_PROPERTY with a cache of CACHE_PROPERTY
+     * megabytes. Without the property, or if the tables can not be
+     * opened, this is the empty tablebase.
+     * @return shared tablebase.
+     */
+    public static synchronized Tablebase getShared(){
+        if(shared == null){
+            shared = NONE;
+            String directory = System.getProperty(DIRECTORY_PROPERTY);
+            if(directory != null){
+                try{
+                    shared = new Tablebase(Paths.get(directory),
+                            Integer.getInteger(CACHE_PROPERTY, DEFAULT_CACHE_MB));
+                }catch(IOException e){
+                    System.err.println("Tablebase not opened: " + e.getMessage());
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Largest number of pieces every position of which is held.
+     * @return piece count, 0 for the empty tablebase.
+     */
+    public int getMaxPieces(){
+        return this.maxPieces;
+    }
+
+    /**
+     * Look up the value of a position.
+     * @param position position to look up.
+     * @return value encoded as in TablebaseValue, from the view of the
+     * side to move, or NOT_FOUND if the position has too many pieces.
+     */
+    public int probe(Position position){
+        int white = position.getWhite();
+        int black = position.getBlack();
+        if(Integer.bitCount(white | black) > this.maxPieces){
+            return NOT_FOUND;
+        }
+        int kings = position.getKings();
+        if(position.getSideToMove() == Position.BLACK){
+            int flippedWhite = MaterialSignature.flip(black);
+            black = MaterialSignature.flip(white);
+            white = flippedWhite;
+            kings = MaterialSignature.flip(kings);
+        }
+        int key = MaterialSignature.key(Integer.bitCount(white & ~kings), Integer.bitCount(white & kings),
+                Integer.bitCount(black & ~kings), Integer.bitCount(black & kings));
+        MappedTable table = this.tables[key];
+        if(table == null){
+            return NOT_FOUND;
+        }
+        long index = table.getSignature().index(white, black, kings);
+        int block = (int) (index / TablebaseFile.BLOCK_VALUES);
+        long cacheKey = BlockCache.key(key, block);
+        short[] values = this.cache.get(cacheKey);
+        if(values == null){
+            values = table.decompress(block);
+            this.cache.put(cacheKey, values);
+        }
+        return values[(int) (index % TablebaseFile.BLOCK_VALUES)];
+    }
+}
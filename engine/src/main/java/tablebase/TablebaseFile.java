@@ -0,0 +1,209 @@
+package tablebase;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.Deflater;
+
+/**
+ * Table file of one material signature. The values (see TablebaseValue)
+ * are cut into blocks of BLOCK_VALUES indexes and every block is
+ * compressed on its own, so a probe only inflates the block holding its
+ * index. The file holds a header with the signature, the number of values
+ * and of blocks, then the file offset of every block and one offset past
+ * the last, then the compressed blocks.
+ * Files are written under a temporary name and renamed when complete,
+ * so a file with the final name is always whole.
+ */
+public final class TablebaseFile {
+
+    /** Extension of the table files.*/
+    public static final String EXTENSION = "tb";
+
+    /** Values per compressed block.*/
+    public static final int BLOCK_VALUES = 4096;
+
+    /** First int of every table file, "CKTB".*/
+    static final int MAGIC = 0x434B5442;
+
+    /** Format version.*/
+    static final int VERSION = 2;
+
+    /** Bytes before the block offsets: magic, version, four counts, size and block count.*/
+    static final int HEADER_SIZE = 4 + 4 + 4 * 4 + 8 + 4;
+
+    /**
+     * Static helpers only.
+     */
+    private TablebaseFile(){
+    }
+
+    /**
+     * Path of the table file of a signature.
+     * @param directory directory of the tablebase.
+     * @param signature material signature.
+     * @return file path.
+     */
+    public static Path path(Path directory, MaterialSignature signature){
+        return directory.resolve(signature.fileName(EXTENSION));
+    }
+
+    /**
+     * Number of blocks of a signature.
+     * @param signature material signature.
+     * @return blocks needed for every index.
+     */
+    static int blockCount(MaterialSignature signature){
+        return (int) ((signature.getSize() + BLOCK_VALUES - 1) / BLOCK_VALUES);
+    }
+
+    /**
+     * Determine if the table of a signature has been written completely.
+     * @param directory directory of the tablebase.
+     * @param signature material signature.
+     * @return true if the file exists with a valid header and every block.
+     */
+    public static boolean isComplete(Path directory, MaterialSignature signature){
+        Path path = path(directory, signature);
+        if(!Files.isRegularFile(path)){
+            return false;
+        }
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)){
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(channel, header, 0);
+            header.flip();
+            checkHeader(header, signature, path);
+            ByteBuffer end = ByteBuffer.allocate(8);
+            readFully(channel, end, HEADER_SIZE + 8L * blockCount(signature));
+            end.flip();
+            return end.getLong() == channel.size();
+        }catch(IOException e){
+            return false;
+        }
+    }
+
+    /**
+     * Write the table of a signature.
+     * @param directory directory of the tablebase.
+     * @param signature material signature.
+     * @param values value of every index.
+     * @throws IOException if the file can not be written.
+     */
+    public static void write(Path directory, MaterialSignature signature, short[] values) throws IOException{
+        Path path = path(directory, signature);
+        Path temporary = directory.resolve(signature.fileName(EXTENSION + ".tmp"));
+        int blockCount = blockCount(signature);
+        long[] offsets = new long[blockCount + 1];
+        long dataStart = HEADER_SIZE + 8L * offsets.length;
+        byte[] raw = new byte[2 * BLOCK_VALUES];
+        byte[] compressed = new byte[raw.length + 1024];
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try(FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)){
+            channel.position(dataStart);
+            for(int block = 0; block < blockCount; block++){
+                int start = block * BLOCK_VALUES;
+                int count = Math.min(BLOCK_VALUES, values.length - start);
+                for(int i = 0; i < count; i++){
+                    raw[2 * i] = (byte) (values[start + i] >> 8);
+                    raw[2 * i + 1] = (byte) values[start + i];
+                }
+                deflater.reset();
+                deflater.setInput(raw, 0, 2 * count);
+                deflater.finish();
+                int length = 0;
+                while(!deflater.finished()){
+                    length += deflater.deflate(compressed, length, compressed.length - length);
+                }
+                offsets[block] = channel.position();
+                writeFully(channel, ByteBuffer.wrap(compressed, 0, length));
+            }
+            offsets[blockCount] = channel.position();
+            ByteBuffer header = ByteBuffer.allocate((int) dataStart);
+            header.putInt(MAGIC);
+            header.putInt(VERSION);
+            header.putInt(signature.getWhiteMen());
+            header.putInt(signature.getWhiteKings());
+            header.putInt(signature.getBlackMen());
+            header.putInt(signature.getBlackKings());
+            header.putLong(signature.getSize());
+            header.putInt(blockCount);
+            for(long offset : offsets){
+                header.putLong(offset);
+            }
+            header.flip();
+            channel.position(0);
+            writeFully(channel, header);
+            channel.force(false);
+        }finally{
+            deflater.end();
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Read the whole table of a signature.
+     * @param directory directory of the tablebase.
+     * @param signature material signature.
+     * @return value of every index.
+     * @throws IOException if the file is missing, damaged or of another signature.
+     */
+    public static short[] read(Path directory, MaterialSignature signature) throws IOException{
+        MappedTable table = MappedTable.open(path(directory, signature), signature);
+        short[] values = new short[(int) signature.getSize()];
+        for(int block = 0; block < table.getBlockCount(); block++){
+            short[] decompressed = table.decompress(block);
+            System.arraycopy(decompressed, 0, values, block * BLOCK_VALUES, decompressed.length);
+        }
+        return values;
+    }
+
+    /**
+     * Check the header of a table file.
+     * @param header buffer positioned at the start of the header.
+     * @param signature signature the file must hold.
+     * @param path file the header was read from, for the message.
+     * @throws IOException if the header does not match.
+     */
+    static void checkHeader(ByteBuffer header, MaterialSignature signature, Path path) throws IOException{
+        if(header.getInt() != MAGIC || header.getInt() != VERSION
+                || header.getInt() != signature.getWhiteMen() || header.getInt() != signature.getWhiteKings()
+                || header.getInt() != signature.getBlackMen() || header.getInt() != signature.getBlackKings()
+                || header.getLong() != signature.getSize() || header.getInt() != blockCount(signature)){
+            throw new IOException("Not a table of " + signature + ": " + path);
+        }
+    }
+
+    /**
+     * Fill a buffer from a channel.
+     * @param channel channel to read.
+     * @param buffer buffer to fill up to its limit.
+     * @param position file position to read from.
+     * @throws IOException if the channel ends first.
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException{
+        while(buffer.hasRemaining()){
+            int read = channel.read(buffer, position);
+            if(read < 0){
+                throw new IOException("Table file ends early");
+            }
+            position += read;
+        }
+    }
+
+    /**
+     * Write a whole buffer to a channel.
+     * @param channel channel to write.
+     * @param buffer buffer to write up to its limit.
+     * @throws IOException if the write fails.
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException{
+        while(buffer.hasRemaining()){
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,484 @@
+package tablebase;
+
+import engine.Bitboards;
+import engine.DaemonThreadFactory;
+import engine.MoveBuffer;
+import engine.MoveGenerator;
+import engine.Moves;
+import engine.Position;
+
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Headless tool solving every endgame with up to a number of pieces.
+ * The rules are those of engine.Position and engine.MoveGenerator,
+ * the same the game plays by.
+ * <p>
+ * A signature is solved together with its flipped signature, since a
+ * quiet move of one leads into the other, by retrograde analysis:
+ * every position is first set up from its moves into signatures
+ * solved before (captures and promotions, read back from their files),
+ * positions without a move are lost in 0 plies. Then the values are
+ * passed back along the quiet moves in order of distance: a position
+ * one quiet move before a loss in d plies is won in d + 1 plies, a
+ * position whose quiet moves all turn out to lead to wins is lost,
+ * one ply after the slowest of them. Positions never reached are drawn.
+ * <p>
+ * Signatures with the same number of pieces and men never depend on
+ * each other, each such level is solved in parallel on a thread pool.
+ * Every table is written as soon as its signature is solved, a run
+ * that is stopped resumes by skipping the signatures already written.
+ */
+public class TablebaseGenerator {
+
+    /** Largest number of pieces solved by default.*/
+    public static final int DEFAULT_MAX_PIECES = 6;
+
+    /** Directory the table files are written to.*/
+    private final Path directory;
+
+    /** Largest number of pieces solved.*/
+    private final int maxPieces;
+
+    /** Number of signatures solved at once.*/
+    private final int threads;
+
+    /** Solved tables, softly held so the collector may drop them and they are read again.*/
+    private final Map<MaterialSignature, SoftReference<short[]>> solved =
+            new ConcurrentHashMap<MaterialSignature, SoftReference<short[]>>();
+
+    /**
+     * Create a generator.
+     * @param directory directory of the table files, created if missing.
+     * @param maxPieces largest number of pieces solved.
+     * @param threads number of signatures solved at once.
+     */
+    public TablebaseGenerator(Path directory, int maxPieces, int threads){
+        this.directory = directory;
+        this.maxPieces = maxPieces;
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Generate the tablebase.
+     * Usage: TablebaseGenerator directory [maxPieces] [threads]
+     * @param args command line arguments.
+     * @throws Exception if generation fails.
+     */
+    public static void main(String[] args) throws Exception{
+        if(args.length < 1){
+            System.err.println("Usage: TablebaseGenerator directory [maxPieces] [threads]");
+            System.exit(1);
+        }
+        int maxPieces = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MAX_PIECES;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        new TablebaseGenerator(Paths.get(args[0]), maxPieces, threads).generate();
+    }
+
+    /**
+     * Solve every signature not yet written, level by level.
+     * @throws IOException if a table can not be read or written.
+     * @throws InterruptedException if interrupted while waiting for a level.
+     */
+    public void generate() throws IOException, InterruptedException{
+        Files.createDirectories(this.directory);
+        List<MaterialSignature> signatures = MaterialSignature.upTo(this.maxPieces);
+        ExecutorService executor = Executors.newFixedThreadPool(this.threads, new DaemonThreadFactory("tablebase"));
+        try{
+            int start = 0;
+            while(start < signatures.size()){
+                int end = start;
+                while(end < signatures.size() && sameLevel(signatures.get(start), signatures.get(end))){
+                    end++;
+                }
+                solveLevel(executor, signatures.subList(start, end));
+                start = end;
+            }
+        }finally{
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Solve the signatures of one level in parallel.
+     * @param executor pool running the solvers.
+     * @param level signatures of equal pieces and men.
+     * @throws IOException if a table can not be read or written.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    private void solveLevel(ExecutorService executor, List<MaterialSignature> level)
+            throws IOException, InterruptedException{
+        List<Future<Void>> results = new ArrayList<Future<Void>>();
+        Set<MaterialSignature> scheduled = new HashSet<MaterialSignature>();
+        for(MaterialSignature signature : level){
+            if(!scheduled.add(signature)){
+                continue;
+            }
+            scheduled.add(signature.flipped());
+            if(TablebaseFile.isComplete(this.directory, signature)
+                    && TablebaseFile.isComplete(this.directory, signature.flipped())){
+                System.out.println("Skipping " + signature + ", already solved");
+                continue;
+            }
+            results.add(executor.submit(new UnitSolver(this, signature)));
+        }
+        for(Future<Void> result : results){
+            try{
+                result.get();
+            }catch(ExecutionException e){
+                Throwable cause = e.getCause();
+                if(cause instanceof IOException){
+                    throw (IOException) cause;
+                }
+                throw new IllegalStateException(cause);
+            }
+        }
+    }
+
+    /**
+     * Determine if two signatures are solved in the same level.
+     * @param first a signature.
+     * @param second another signature.
+     * @return true if pieces and men are equal.
+     */
+    private static boolean sameLevel(MaterialSignature first, MaterialSignature second){
+        return first.getPieces() == second.getPieces() && first.getMen() == second.getMen();
+    }
+
+    /**
+     * Table of a signature solved earlier.
+     * @param signature material signature.
+     * @return value of every index.
+     * @throws IOException if the table can not be read.
+     */
+    short[] table(MaterialSignature signature) throws IOException{
+        SoftReference<short[]> reference = this.solved.get(signature);
+        short[] values = reference == null ? null : reference.get();
+        if(values == null){
+            values = TablebaseFile.read(this.directory, signature);
+            this.solved.put(signature, new SoftReference<short[]>(values));
+        }
+        return values;
+    }
+
+    /**
+     * Write the table of a solved signature and keep it for later levels.
+     * @param signature material signature.
+     * @param values value of every index.
+     * @throws IOException if the table can not be written.
+     */
+    void store(MaterialSignature signature, short[] values) throws IOException{
+        TablebaseFile.write(this.directory, signature, values);
+        this.solved.put(signature, new SoftReference<short[]>(values));
+    }
+
+    /**
+     * Solves a signature and its flipped signature on one pool thread.
+     */
+    private static class UnitSolver implements Callable<Void> {
+
+        /** Generator the tables are read from and written to.*/
+        private final TablebaseGenerator generator;
+
+        /** The signatures solved, one if the signature is its own flip.*/
+        private final MaterialSignature[] signatures;
+
+        /** Values of the solved signatures, 0 while unsolved. Values beyond
+         * the distance being propagated are not final yet.*/
+        private final short[][] values;
+
+        /** Per position, the quiet moves not yet known to lead to a win
+         * of the opponent, plus one if a move leads to a drawn position.*/
+        private final byte[][] counts;
+
+        /** Tables of the earlier signatures used by this unit.*/
+        private final Map<MaterialSignature, short[]> dependencies = new HashMap<MaterialSignature, short[]>();
+
+        /** Position the indexes are decoded into.*/
+        private final Position position = new Position();
+
+        /** Moves of the decoded position.*/
+        private final MoveBuffer moves = new MoveBuffer(1);
+
+        /** White, black and kings of the decoded position.*/
+        private final int[] pieces = new int[3];
+
+        /** Longest distance assigned so far.*/
+        private int maxDistance;
+
+        /**
+         * Create a solver.
+         * @param generator generator the tables belong to.
+         * @param signature one of the two signatures to solve.
+         */
+        UnitSolver(TablebaseGenerator generator, MaterialSignature signature){
+            this.generator = generator;
+            MaterialSignature flipped = signature.flipped();
+            this.signatures = flipped.equals(signature) ? new MaterialSignature[]{signature}
+                    : new MaterialSignature[]{signature, flipped};
+            this.values = new short[this.signatures.length][];
+            this.counts = new byte[this.signatures.length][];
+            for(int i = 0; i < this.signatures.length; i++){
+                if(this.signatures[i].getSize() > Integer.MAX_VALUE - 8){
+                    throw new IllegalArgumentException("Signature too large: " + this.signatures[i]);
+                }
+                this.values[i] = new short[(int) this.signatures[i].getSize()];
+                this.counts[i] = new byte[(int) this.signatures[i].getSize()];
+            }
+        }
+
+        /**
+         * Solve both signatures and write their tables.
+         * @return nothing.
+         * @throws IOException if a table can not be read or written.
+         */
+        @Override
+        public Void call() throws IOException{
+            long start = System.currentTimeMillis();
+            long positions = 0;
+            for(int i = 0; i < this.signatures.length; i++){
+                positions += seed(i);
+            }
+            int distance = 0;
+            for(; distance <= this.maxDistance; distance++){
+                for(int i = 0; i < this.signatures.length; i++){
+                    propagate(i, distance);
+                }
+            }
+            for(int i = 0; i < this.signatures.length; i++){
+                this.generator.store(this.signatures[i], this.values[i]);
+            }
+            long wins = 0;
+            long losses = 0;
+            for(short[] table : this.values){
+                for(short value : table){
+                    if(TablebaseValue.isWin(value)){
+                        wins++;
+                    }else if(TablebaseValue.isLoss(value)){
+                        losses++;
+                    }
+                }
+            }
+            System.out.println("Solved " + this.signatures[0]
+                    + (this.signatures.length > 1 ? " and " + this.signatures[1] : "")
+                    + ": " + positions + " positions, " + wins + " won, " + losses + " lost, "
+                    + (positions - wins - losses) + " drawn, longest " + this.maxDistance + " plies, "
+                    + (System.currentTimeMillis() - start) + " ms");
+            return null;
+        }
+
+        /**
+         * Set up every position of a signature: positions without a move
+         * are lost, the moves into earlier signatures are looked up and
+         * the quiet moves, which stay in this unit, are counted.
+         * @param table index of the signature.
+         * @return number of positions of the signature.
+         * @throws IOException if an earlier table can not be read.
+         */
+        private long seed(int table) throws IOException{
+            MaterialSignature signature = this.signatures[table];
+            short[] values = this.values[table];
+            byte[] counts = this.counts[table];
+            long positions = 0;
+            for(int index = 0; index < values.length; index++){
+                if(!decode(signature, index)){
+                    continue;
+                }
+                positions++;
+                int count = MoveGenerator.generate(this.position, this.moves, 0);
+                if(count == 0){
+                    assign(table, index, TablebaseValue.loss(0));
+                    continue;
+                }
+                int quiet = 0;
+                boolean drawn = false;
+                int longestWin = 0;
+                int shortestLoss = Integer.MAX_VALUE;
+                for(int i = 0; i < count; i++){
+                    long move = this.moves.get(0, i);
+                    if(isQuiet(move)){
+                        quiet++;
+                        continue;
+                    }
+                    short value = successor(move);
+                    if(TablebaseValue.isLoss(value)){
+                        shortestLoss = Math.min(shortestLoss, TablebaseValue.distance(value));
+                    }else if(TablebaseValue.isWin(value)){
+                        longestWin = Math.max(longestWin, TablebaseValue.distance(value));
+                    }else{
+                        drawn = true;
+                    }
+                }
+                counts[index] = (byte) (quiet + (drawn ? 1 : 0));
+                if(shortestLoss != Integer.MAX_VALUE){
+                    assign(table, index, TablebaseValue.win(shortestLoss + 1));
+                }else if(counts[index] == 0){
+                    assign(table, index, TablebaseValue.loss(longestWin + 1));
+                }
+            }
+            return positions;
+        }
+
+        /**
+         * Pass over the positions of a signature whose value has a given
+         * distance, final now that every shorter distance is done, and
+         * pass their value back to the positions a quiet move leads from.
+         * @param table index of the signature.
+         * @param distance distance of the values to propagate.
+         * @throws IOException if an earlier table can not be read.
+         */
+        private void propagate(int table, int distance) throws IOException{
+            MaterialSignature signature = this.signatures[table];
+            short[] values = this.values[table];
+            int other = this.signatures.length == 1 ? 0 : 1 - table;
+            MaterialSignature otherSignature = this.signatures[other];
+            for(int index = 0; index < values.length; index++){
+                short value = values[index];
+                if(value == 0 || TablebaseValue.distance(value) != distance || !signature.position(index, this.pieces)){
+                    continue;
+                }
+                /*Turn the board back, the side that just moved is white again.*/
+                int white = MaterialSignature.flip(this.pieces[1]);
+                int black = MaterialSignature.flip(this.pieces[0]);
+                int kings = MaterialSignature.flip(this.pieces[2]);
+                int empty = ~(white | black);
+                int movers = white;
+                while(movers != 0){
+                    int to = movers & -movers;
+                    movers ^= to;
+                    boolean king = (kings & to) != 0;
+                    int origins = Bitboards.backwardLeft(to) | Bitboards.backwardRight(to);
+                    if(king){
+                        origins |= Bitboards.forwardLeft(to) | Bitboards.forwardRight(to);
+                    }
+                    origins &= empty;
+                    while(origins != 0){
+                        int from = origins & -origins;
+                        origins ^= from;
+                        int previousWhite = white ^ to ^ from;
+                        int previousKings = king ? kings ^ to ^ from : kings;
+                        this.position.setPieces(previousWhite, black, previousKings, Position.WHITE);
+                        /*Jumps are mandatory, a quiet move is only legal without one.*/
+                        if(this.position.jumpers(Position.WHITE) != 0){
+                            continue;
+                        }
+                        update(other, (int) otherSignature.index(previousWhite, black, previousKings), value, distance);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Account for a quiet move into a position with a final value.
+         * @param table index of the signature of the position the move is made in.
+         * @param index index of that position.
+         * @param value value of the position the move leads to.
+         * @param distance distance of that value.
+         * @throws IOException if an earlier table can not be read.
+         */
+        private void update(int table, int index, short value, int distance) throws IOException{
+            short current = this.values[table][index];
+            if(TablebaseValue.isLoss(value)){
+                if(current == 0 || (TablebaseValue.isWin(current) && TablebaseValue.distance(current) > distance + 1)){
+                    assign(table, index, TablebaseValue.win(distance + 1));
+                }
+            }else if(current == 0 && --this.counts[table][index] == 0){
+                assign(table, index, TablebaseValue.loss(longestWin(table, index) + 1));
+            }
+        }
+
+        /**
+         * Longest win among the successors of a position whose every move loses.
+         * @param table index of the signature.
+         * @param index index of the position.
+         * @return distance of the slowest win of the opponent.
+         * @throws IOException if an earlier table can not be read.
+         */
+        private int longestWin(int table, int index) throws IOException{
+            decode(this.signatures[table], index);
+            int count = MoveGenerator.generate(this.position, this.moves, 0);
+            int longest = 0;
+            for(int i = 0; i < count; i++){
+                longest = Math.max(longest, TablebaseValue.distance(successor(this.moves.get(0, i))));
+            }
+            return longest;
+        }
+
+        /**
+         * Set the value of a position.
+         * @param table index of the signature.
+         * @param index index of the position.
+         * @param value new value.
+         */
+        private void assign(int table, int index, short value){
+            this.values[table][index] = value;
+            this.maxDistance = Math.max(this.maxDistance, TablebaseValue.distance(value));
+        }
+
+        /**
+         * Determine if a move stays within the unit.
+         * @param move packed move.
+         * @return true for a move that neither captures nor promotes.
+         */
+        private static boolean isQuiet(long move){
+            return !Moves.isJump(move) && !Moves.isPromotion(move);
+        }
+
+        /**
+         * Value of the position a move leads to, from the view of the opponent.
+         * @param move packed move legal in the decoded position.
+         * @return current value of the successor, 0 while unsolved.
+         * @throws IOException if an earlier table can not be read.
+         */
+        private short successor(long move) throws IOException{
+            this.position.makeMove(move);
+            /*Black is to move, turn the board so the opponent becomes white.*/
+            int white = MaterialSignature.flip(this.position.getBlack());
+            int black = MaterialSignature.flip(this.position.getWhite());
+            int kings = MaterialSignature.flip(this.position.getKings());
+            this.position.unmakeMove();
+            MaterialSignature signature = MaterialSignature.of(white, black, kings);
+            for(int i = 0; i < this.signatures.length; i++){
+                if(this.signatures[i].equals(signature)){
+                    return this.values[i][(int) signature.index(white, black, kings)];
+                }
+            }
+            short[] table = this.dependencies.get(signature);
+            if(table == null){
+                table = this.generator.table(signature);
+                this.dependencies.put(signature, table);
+            }
+            return table[(int) signature.index(white, black, kings)];
+        }
+
+        /**
+         * Set up the position of an index with white to move.
+         * @param signature signature of the index.
+         * @param index position index.
+         * @return false for an unused index.
+         */
+        private boolean decode(MaterialSignature signature, long index){
+            if(!signature.position(index, this.pieces)){
+                return false;
+            }
+            this.position.setPieces(this.pieces[0], this.pieces[1], this.pieces[2], Position.WHITE);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package tablebase;
+
+/**
+ * Encoding of the value of a tablebase position, from the view of
+ * the side to move, in a short: 0 is a draw (or a position not yet
+ * solved while generating), a positive value d is a win in d plies and
+ * a negative value -(d + 1) is a loss in d plies. Wins always take an
+ * odd number of plies and losses an even number, a side without any
+ * move has lost in 0 plies.
+ */
+public final class TablebaseValue {
+
+    /** Value of a drawn position.*/
+    public static final short DRAW = 0;
+
+    /**
+     * Static helpers only.
+     */
+    private TablebaseValue(){
+    }
+
+    /**
+     * Value of a win.
+     * @param plies plies until the opponent has no move left.
+     * @return encoded value.
+     */
+    public static short win(int plies){
+        return (short) plies;
+    }
+
+    /**
+     * Value of a loss.
+     * @param plies plies until the side to move has no move left.
+     * @return encoded value.
+     */
+    public static short loss(int plies){
+        return (short) -(plies + 1);
+    }
+
+    /**
+     * Determine if a value is a win.
+     * @param value encoded value.
+     * @return true for a win of the side to move.
+     */
+    public static boolean isWin(short value){
+        return value > 0;
+    }
+
+    /**
+     * Determine if a value is a loss.
+     * @param value encoded value.
+     * @return true for a loss of the side to move.
+     */
+    public static boolean isLoss(short value){
+        return value < 0;
+    }
+
+    /**
+     * Plies until the game ends.
+     * @param value encoded win or loss.
+     * @return distance in plies, 0 for a draw.
+     */
+    public static int distance(short value){
+        return value >= 0 ? value : -value - 1;
+    }
+
+    /**
+     * Readable form of a value.
+     * @param value encoded value.
+     * @return e.g. "win in 7", "loss in 4" or "draw".
+     */
+    public static String toString(short value){
+        if(isWin(value)){
+            return "win in " + distance(value);
+        }
+        if(isLoss(value)){
+            return "loss in " + distance(value);
+        }
+        return "draw";
+    }
+}
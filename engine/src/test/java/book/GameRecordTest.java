@@ -0,0 +1,81 @@
+package book;
+
+import engine.MoveBuffer;
+import engine.MoveGenerator;
+import engine.Moves;
+import engine.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Checks that move text uses the standard square numbers of FEN,
+ * so published games read and write back unchanged.
+ */
+public class GameRecordTest {
+
+    /** Standard FEN of the start position, black to move.*/
+    private static final String START = "B:W21,22,23,24,25,26,27,28,29,30,31,32:B1,2,3,4,5,6,7,8,9,10,11,12";
+
+    /**
+     * A published opening, the Old Fourteenth with black moving first
+     * from the standard FEN, parses move by move and prints back as written.
+     */
+    @Test
+    public void publishedOpeningRoundTrip(){
+        Position position = Position.fromFen(START);
+        MoveBuffer buffer = new MoveBuffer(1);
+        for(String text : "11-15 23-19 8-11 22-17 4-8 17-13 15-18 24-20".split(" ")){
+            long move = GameRecord.parseMove(position, buffer, text);
+            assertNotEquals(Moves.NO_MOVE, move, text);
+            assertEquals(text, GameRecord.moveText(position, buffer, move));
+            position.makeMove(move);
+        }
+        assertEquals("B:W13,19,20,21,25,26,27,28,29,30,31,32:B1,2,3,5,6,7,8,9,10,11,12,18", position.toFen());
+    }
+
+    /**
+     * Capture paths sharing their start and end are told apart by their captured squares.
+     */
+    @Test
+    public void ambiguousCaptureRoundTrip(){
+        Position position = Position.fromFen("B:W17,18,25,26,27,28,32:B1,4,5,10,12,14,16,20");
+        MoveBuffer buffer = new MoveBuffer(1);
+        long move = GameRecord.parseMove(position, buffer, "14x30(18,26)");
+        assertNotEquals(Moves.NO_MOVE, move);
+        assertEquals(Moves.NO_MOVE, GameRecord.parseMove(position, buffer, "14x30"));
+        assertEquals("14x30(18,26)", GameRecord.moveText(position, buffer, move));
+    }
+
+    /**
+     * Game lines written from random play read back into the same moves.
+     */
+    @Test
+    public void formatParseRoundTrip(){
+        Random random = new Random(1);
+        MoveBuffer buffer = new MoveBuffer(1);
+        for(int game = 0; game < 100; game++){
+            Position position = Position.startPosition();
+            long[] moves = new long[100];
+            int count = 0;
+            while(count < moves.length){
+                int moveCount = MoveGenerator.generate(position, buffer, 0);
+                if(moveCount == 0){
+                    break;
+                }
+                moves[count] = buffer.get(0, random.nextInt(moveCount));
+                position.makeMove(moves[count++]);
+            }
+            String[] tokens = GameRecord.format(GameRecord.DRAW, moves, count).split(" ");
+            assertEquals(GameRecord.DRAW, GameRecord.parseResult(tokens));
+            Position replay = Position.startPosition();
+            for(int i = 0; i < count; i++){
+                assertEquals(moves[i], GameRecord.parseMove(replay, buffer, tokens[i + 1]), tokens[i + 1]);
+                replay.makeMove(moves[i]);
+            }
+        }
+    }
+}
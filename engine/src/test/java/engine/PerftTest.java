@@ -0,0 +1,50 @@
+package engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the move generator against the published perft counts
+ * of the start position, so a generator regression fails the build.
+ */
+public class PerftTest {
+
+    /** Deepest depth checked, kept fast enough for every build.*/
+    private static final int MAX_DEPTH = 8;
+
+    /**
+     * Count depths 1 - 8 on a single thread without the hash table.
+     * @throws InterruptedException if interrupted while counting.
+     */
+    @Test
+    public void startPositionCounts() throws InterruptedException{
+        Perft perft = new Perft(1, 0);
+        for(int depth = 1; depth <= MAX_DEPTH; depth++){
+            assertEquals(Perft.START_COUNTS[depth], perft.count(Position.startPosition(), depth), "depth " + depth);
+        }
+    }
+
+    /**
+     * Count the deepest depth with split root moves and the hash table.
+     * @throws InterruptedException if interrupted while counting.
+     */
+    @Test
+    public void startPositionCountsThreadedWithHash() throws InterruptedException{
+        Perft perft = new Perft(4, 4);
+        assertEquals(Perft.START_COUNTS[MAX_DEPTH], perft.count(Position.startPosition(), MAX_DEPTH));
+    }
+
+    /**
+     * The standard start FEN, black to move, counts the same as the start position.
+     * @throws InterruptedException if interrupted while counting.
+     */
+    @Test
+    public void standardStartFenCounts() throws InterruptedException{
+        Position position = Position.fromFen("B:W21,22,23,24,25,26,27,28,29,30,31,32:B1,2,3,4,5,6,7,8,9,10,11,12");
+        Perft perft = new Perft(1, 0);
+        for(int depth = 1; depth <= 6; depth++){
+            assertEquals(Perft.START_COUNTS[depth], perft.count(position, depth), "depth " + depth);
+        }
+    }
+}
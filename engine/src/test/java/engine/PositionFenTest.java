@@ -0,0 +1,90 @@
+package engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks Position.fromFen and toFen against the standard
+ * checkers notation and against each other.
+ */
+public class PositionFenTest {
+
+    /** Standard FEN of the start position, black to move.*/
+    private static final String START = "B:W21,22,23,24,25,26,27,28,29,30,31,32:B1,2,3,4,5,6,7,8,9,10,11,12";
+
+    /**
+     * Black starts on squares 1 - 12 and white on 21 - 32.
+     */
+    @Test
+    public void startPositionUsesStandardSquares(){
+        Position position = Position.fromFen(START);
+        Position start = Position.startPosition();
+        assertEquals(start.getWhite(), position.getWhite());
+        assertEquals(start.getBlack(), position.getBlack());
+        assertEquals(Position.BLACK, position.getSideToMove());
+        assertEquals(START, position.toFen());
+    }
+
+    /**
+     * The opening moves of black from the start are 9-13 to 12-16, as published.
+     */
+    @Test
+    public void openingMovesUseStandardSquares(){
+        Position position = Position.fromFen(START);
+        Position after = Position.fromFen("W:W21,22,23,24,25,26,27,28,29,30,31,32:B1,2,3,4,5,6,7,8,9,10,12,15");
+        MoveBuffer buffer = new MoveBuffer(1);
+        int moveCount = MoveGenerator.generate(position, buffer, 0);
+        assertEquals(7, moveCount);
+        int found = 0;
+        for(int i = 0; i < moveCount; i++){
+            Position child = new Position(position);
+            child.makeMove(buffer.get(0, i));
+            if(child.getBlack() == after.getBlack()){
+                found++;
+            }
+        }
+        assertEquals(1, found, "11-15");
+    }
+
+    /**
+     * Kings and both sides to move survive writing and reading back,
+     * over positions reached by random play.
+     */
+    @Test
+    public void roundTrip(){
+        Random random = new Random(1);
+        MoveBuffer buffer = new MoveBuffer(1);
+        for(int game = 0; game < 200; game++){
+            Position position = Position.startPosition();
+            for(int ply = 0; ply < 200; ply++){
+                String fen = position.toFen();
+                Position read = Position.fromFen(fen);
+                assertEquals(position.getWhite(), read.getWhite(), fen);
+                assertEquals(position.getBlack(), read.getBlack(), fen);
+                assertEquals(position.getKings(), read.getKings(), fen);
+                assertEquals(position.getSideToMove(), read.getSideToMove(), fen);
+                assertEquals(fen, read.toFen());
+                int moveCount = MoveGenerator.generate(position, buffer, 0);
+                if(moveCount == 0){
+                    break;
+                }
+                position.makeMove(buffer.get(0, random.nextInt(moveCount)));
+            }
+        }
+    }
+
+    /**
+     * Text that is not FEN is rejected rather than read as some position.
+     */
+    @Test
+    public void invalidFenRejected(){
+        String[] invalid = {"", "W:W1,2", "X:W1:B2", "W:W1,33:B2", "W:W0:B2", "W:W1:B1", "W:Wa:B2", "W:B1:B2x"};
+        for(String fen : invalid){
+            assertThrows(IllegalArgumentException.class, () -> Position.fromFen(fen), fen);
+        }
+    }
+}
@@ -23,8 +23,8 @@ public class Checker extends JToggleButton{
     /** Type of this checker piece. Standard or King.*/
     private Piece checkerType = Piece.STANDARD;
 
-    /** Unique ID of this checker piece.*/
-    private final String checkerID;
+    /** Unique dense ID of this checker piece, 0 - 23.*/
+    private final int checkerID;
 
     /** Location on checker board where this checker is located.*/
     private BoardSquare currentSquare;
@@ -47,16 +47,16 @@ public class Checker extends JToggleButton{
     /**
      * Constructor to create a new checker piece.
      * @param checkerColor Color of this checker piece.
-     * @param checkerID integer identifier for this checker piece.
-     *                  Color prepended to checkerID.
+     * @param checkerID unique dense identifier for this checker piece,
+     *                  0 - 23 across both colors.
      */
     public Checker(Color checkerColor, int checkerID){
         listeners = new ArrayList<>();
         this.checkerColor = checkerColor;
-        this.checkerID = this.checkerColor.toString() + "_" + checkerID;
+        this.checkerID = checkerID;
         this.determineStartSide();
         setCheckerGuiPreferences();
-        this.setText(Integer.toString(checkerID));
+        this.setText(Integer.toString(checkerID % Constants.CHECKER_COUNT));
     }
 
     /**
@@ -169,9 +169,9 @@ public class Checker extends JToggleButton{
 
     /**
      * Retrieve the checker ID associated with this checker piece.
-     * @return String representation of checkerID = COLOR_#
+     * @return dense checker id, 0 - 23.
      */
-    public String getCheckerID(){
+    public int getCheckerID(){
         return this.checkerID;
     }
 
@@ -314,6 +314,8 @@ public class Checker extends JToggleButton{
     @Override
     public String toString(){
         String checkerString = "[*Checker: "+
+                this.checkerColor.toString()+
+                "_"+
                 this.getCheckerID()+
                 "_"+
                 this.checkerType.toString();
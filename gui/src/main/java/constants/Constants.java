@@ -54,23 +54,9 @@ public interface Constants {
     String VACANT = "VACANT";
     String OCCUPIED = "OCCUPIED";
 
-    /*Possible moves for a checker piece*/
-    String FORWARD_LEFT = "FORWARD_LEFT";
-    String FORWARD_RIGHT = "FORWARD_RIGHT";
-    String BACKWARD_LEFT = "BACKWARD_LEFT";
-    String BACKWARD_RIGHT = "BACKWARD_RIGHT";
-    String FORWARD_JUMP_LEFT = "FORWARD_JUMP_LEFT";
-    String FORWARD_JUMP_RIGHT = "FORWARD_JUMP_RIGHT";
-    String BACKWARD_JUMP_LEFT = "BACKWARD_JUMP_LEFT";
-    String BACKWARD_JUMP_RIGHT = "BACKWARD_JUMP_RIGHT";
-
     /*GUI constants*/
     String CHECKERS = "CHECKERS";
 
-    /*Move determination*/
-    String JUMP = "JUMP";
-    String NORMAL = "NORMAL";
-
     /*PropertyChangeEvents*/
     String SQUARE_CLICKED = "SQUARE_CLICKED";
     String CHECKER_CLICKED = "CHECKER_CLICKED";
@@ -82,7 +68,15 @@ public interface Constants {
     String CURRENT_TURN = "Current Turn: ";
     String WHITE_PIECES_REMAIN = "White(Remain): ";
     String BLACK_PIECES_REMAIN = "Black(Remain): ";
-    String DOUBLE_JUMP = ": Double Jump";
+    String KINGS_REMAIN = " (Kings: ";
+    String EXPECTED_LINE = "Expected: ";
+
+    /*Time of a computer player turn, in milliseconds. 1 second.
+    * Searching players use it to search, the rest of it is spent
+    * showing the chosen move before performing it.*/
+    int COMPUTER_WAIT_TIME = 1000;
+    /*Shortest time a computer move is shown, in milliseconds.*/
+    int COMPUTER_SHOW_TIME = 300;
 
     /*Button labels for game play popup*/
     String TWO_PLAYER_BUTTON = "Two Player";
@@ -0,0 +1,780 @@
+package gameplay;
+
+import board.BoardSquare;
+import board.CheckerBoard;
+import checker.Checker;
+import checker.ClickedState;
+import checker.Color;
+import computer.*;
+import constants.Constants;
+import engine.Bitboards;
+import engine.MoveBuffer;
+import engine.MoveGenerator;
+import engine.Moves;
+import engine.Position;
+import gui.GamePlay;
+import gui.StatusPanel;
+
+import javax.swing.*;
+import javax.swing.Timer;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.List;
+
+/**
+ * Maintains the registry of checkers in play, as well as
+ * the layout of the checkerboard and the positions
+ * of all checker pieces.
+ */
+public class CheckerGame implements PropertyChangeListener{
+
+    /**Registry that contains all checker pieces, indexed
+     * by dense checker id and by the square they reside on.*/
+    private final PieceRegistry pieceRegistry;
+
+    /**Checker playing board, where pieces will be located.*/
+    private final CheckerBoard checkerBoard;
+
+    /**Bitboard position that mirrors the pieces on the board,
+     * all rule checks are answered from here.*/
+    private final Position position;
+
+    /**Legal moves of the player whose turn it is.*/
+    private final MoveBuffer legalMoves = new MoveBuffer(1);
+
+    /**Maintain the current player's turn color.*/
+    private Color playerTurn = Color.WHITE;
+
+    /**Reference to the computer player.*/
+    private IComputerPlayer computerPlayer;
+
+    /**Status panel to illustrate to the players, whose turn it is
+     * as well as how many of each color pieces are left in play.*/
+    private final StatusPanel statusPanel;
+
+    /**Flag to turn Computer player on and off.*/
+    private boolean ai = false;
+
+    /**
+     * Constructor to create the checker pieces and the game board.
+     * @param statusPanel panel showing the turn and remaining pieces.
+     * @param gamePlay play style chosen by the player.
+     */
+    public CheckerGame(StatusPanel statusPanel, GamePlay gamePlay){
+        this.statusPanel = statusPanel;
+        this.pieceRegistry = new PieceRegistry();
+        this.position = new Position();
+        generateCheckerPieces();
+        this.checkerBoard = new CheckerBoard();
+        generateCheckerBoard();
+        this.checkerBoard.setVisible(true);
+        this.statusPanel.updateWinnerLabel(Constants.CURRENT_TURN+this.playerTurn);
+
+        switch(gamePlay){
+            case TWO_PLAYER:
+                this.ai = false;
+                break;
+            case RANDOM:
+                this.ai = true;
+                this.computerPlayer = new RandomComputerPlayer(toSide(randomComputerPlayerColor()));
+                break;
+            case EASY:
+                this.ai = true;
+                this.computerPlayer = new EasyComputerPlayer(toSide(randomComputerPlayerColor()));
+                break;
+            case MEDIUM:
+                this.ai = true;
+                this.computerPlayer = new MediumComputerPlayer(toSide(randomComputerPlayerColor()));
+                break;
+            case HARD:
+                this.ai = true;
+                this.computerPlayer = new HardComputerPlayer(toSide(randomComputerPlayerColor()), Constants.COMPUTER_WAIT_TIME);
+                break;
+        }
+        if(this.ai){
+            allowComputerMove();
+        }
+    }
+
+    /**
+     * Handle property change events that could be received
+     * from either BoardSquares or Checker pieces.
+     * @param evt event that has been generated by clicks
+     *            on either BoardSquares of Checker pieces.
+     */
+    @Override
+    public void propertyChange(PropertyChangeEvent evt) {
+        SwingUtilities.invokeLater(new PropertyChangeHandler(this,evt));
+    }
+
+    /**
+     * Must be run on the GUI thread, Handle the
+     * Property change events that are generated throughout
+     * the system.
+     * Assign possible moves as well as move checker
+     * pieces from one square to another.
+     */
+    private static class PropertyChangeHandler implements Runnable{
+        private final WeakReference<CheckerGame> wGame;
+        private final PropertyChangeEvent evt;
+
+        PropertyChangeHandler(CheckerGame game, PropertyChangeEvent evt){
+            this.wGame = new WeakReference<>(game);
+            this.evt = evt;
+        }
+        @Override
+        public void run() {
+            CheckerGame checkerGame = this.wGame.get();
+            if(checkerGame == null){
+                return;
+            }
+            String eventName = evt.getPropertyName();
+            switch(eventName){
+                /*A square has been clicked.*/
+                case Constants.SQUARE_CLICKED:
+                    /*The board belongs to the computer during its turn.*/
+                    if(checkerGame.isComputerTurn()){
+                        break;
+                    }
+                    BoardSquare boardSquare = (BoardSquare) evt.getSource();
+                    ClickedState squareClickedState = (ClickedState) evt.getNewValue();
+                    switch(squareClickedState){
+                        case CLICKED:
+                            checkerGame.moveSelectedChecker(boardSquare);
+                            break;
+                        case NOT_CLICKED:
+                            break;
+                    }
+                    break;
+                /*A checker has been selected.*/
+                case Constants.CHECKER_CLICKED:
+                    Checker checker = (Checker) evt.getSource();
+                    /*Execute checker moves only if it is the correct color
+                    * and not the computer's turn.*/
+                    if(checkerGame.isComputerTurn() || !checker.getCheckerColor().equals(checkerGame.playerTurn)) {
+                        break;
+                    }
+                    ClickedState checkerClickedState = (ClickedState) evt.getNewValue();
+                    switch(checkerClickedState){
+                        case CLICKED:
+                            checkerGame.assignPossibleMoves(checker);
+                            checkerGame.setAllCheckersToNotChecked(checker);
+                            break;
+                        case NOT_CLICKED:
+                            checkerGame.getCheckerBoard().resetBoardSquares();
+                            break;
+                    }
+                    break;
+                case Constants.RESET_BOARD:
+                    Checker currentChecker = null;
+                    if(evt.getNewValue() != null){
+                        currentChecker = (Checker) evt.getNewValue();
+                    }
+                    checkerGame.setAllCheckersToNotChecked(currentChecker);
+                    checkerGame.getCheckerBoard().resetBoardSquares();
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Assign the landing squares of all legal moves (Normal and Jumps)
+     * of a checker to be visible with colors of:
+     *  GREEN (Jump)
+     *  ORANGE (Normal).
+     * @param checker Checker to assign moves to.
+     */
+    public void assignPossibleMoves(Checker checker){
+        BoardSquare[][] board = this.checkerBoard.getCheckerBoard();
+        int from = squareIndex(checker.getCurrentSquare());
+        int moveCount = generateLegalMoves();
+        for(int i = 0; i < moveCount; i++){
+            long move = this.legalMoves.get(0, i);
+            if(Moves.from(move) != from){
+                continue;
+            }
+            int to = Moves.to(move);
+            board[Bitboards.row(to)][Bitboards.column(to)].setSquareColor(Moves.isJump(move) ? Color.GREEN : Color.ORANGE);
+        }
+    }
+
+    /**
+     * Search a computer player move on separate thread.
+     * The computer player searches a copy of the position taken
+     * on the GUI thread, the chosen move is handed back to the
+     * GUI thread, which alone touches the game and the board.
+     */
+    private static class ComputerPlayerMove implements Runnable{
+        private final WeakReference<CheckerGame> wGame;
+        private final WeakReference<IComputerPlayer> wComputerPlayer;
+        private final Position position;
+
+        ComputerPlayerMove(CheckerGame game, IComputerPlayer computerPlayer, Position position){
+            this.wGame = new WeakReference<>(game);
+            this.wComputerPlayer = new WeakReference<>(computerPlayer);
+            this.position = position;
+        }
+
+        @Override
+        public void run() {
+            IComputerPlayer computerPlayer = this.wComputerPlayer.get();
+            if(this.wGame.get() == null || computerPlayer == null){
+                return;
+            }
+            long startTime = System.currentTimeMillis();
+            long move = computerPlayer.makeMove(this.position);
+            if(move == Moves.NO_MOVE){
+                return;
+            }
+            CheckerGame checkerGame = this.wGame.get();
+            if(checkerGame != null){
+                SwingUtilities.invokeLater(new ComputerMoveFound(checkerGame, move,
+                        computerPlayer.getPrincipalVariation(), startTime));
+            }
+        }
+    }
+
+    /**
+     * Must be run on the GUI thread, show the move
+     * a computer player has found.
+     */
+    private static class ComputerMoveFound implements Runnable{
+        private final WeakReference<CheckerGame> wGame;
+        private final long move;
+        private final long[] line;
+        private final long startTime;
+
+        ComputerMoveFound(CheckerGame game, long move, long[] line, long startTime){
+            this.wGame = new WeakReference<>(game);
+            this.move = move;
+            this.line = line;
+            this.startTime = startTime;
+        }
+
+        @Override
+        public void run() {
+            CheckerGame checkerGame = this.wGame.get();
+            if(checkerGame != null){
+                checkerGame.showComputerMove(this.move, this.line, this.startTime);
+            }
+        }
+    }
+
+    /**
+     * Run on the GUI thread by a Swing timer, perform
+     * a computer move once it has been shown.
+     */
+    private static class ComputerMoveTimeout implements ActionListener{
+        private final WeakReference<CheckerGame> wGame;
+        private final long move;
+
+        ComputerMoveTimeout(CheckerGame game, long move){
+            this.wGame = new WeakReference<>(game);
+            this.move = move;
+        }
+
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            CheckerGame checkerGame = this.wGame.get();
+            if(checkerGame != null){
+                checkerGame.performComputerMove(this.move);
+            }
+        }
+    }
+
+    /**
+     * Readable form of a line of moves, "23-18 11-15 18x11".
+     * @param line packed moves.
+     * @return moves separated by spaces.
+     */
+    private static String lineText(long[] line){
+        StringBuilder text = new StringBuilder();
+        for(long move : line){
+            if(text.length() > 0){
+                text.append(' ');
+            }
+            text.append(Moves.toString(move));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Show a move chosen by the computer player, on the GUI thread.
+     * The move is shown until the computer's turn has lasted
+     * COMPUTER_WAIT_TIME, and at least COMPUTER_SHOW_TIME,
+     * then a Swing timer performs it.
+     * @param move packed move from the computer player.
+     * @param line line the computer player expects, starting with the move.
+     * @param startTime time the computer started its turn, in milliseconds.
+     */
+    private void showComputerMove(long move, long[] line, long startTime){
+        if(!isComputerTurn() || !isLegalMove(move)){
+            return; //should never occur.
+        }
+        this.statusPanel.updateExpectedLine(Constants.EXPECTED_LINE + lineText(line));
+        assignPossibleMoves(this.pieceRegistry.getPieceAt(Moves.from(move)));
+        long elapsedTime = System.currentTimeMillis() - startTime;
+        long showTime = Math.max(Constants.COMPUTER_WAIT_TIME - elapsedTime, Constants.COMPUTER_SHOW_TIME);
+        Timer timer = new Timer((int) showTime, new ComputerMoveTimeout(this, move));
+        timer.setRepeats(false);
+        timer.start();
+    }
+
+    /**
+     * Perform a shown computer move, on the GUI thread.
+     * @param move packed move from the computer player.
+     */
+    private void performComputerMove(long move){
+        /*The position must still be the one the move was found in.*/
+        if(!isComputerTurn() || !isLegalMove(move)){
+            return;
+        }
+        /*Perform the exact move chosen, the capture sequence included.*/
+        applyMove(move);
+        this.checkerBoard.resetBoardSquares();
+    }
+
+    /**
+     * Determine if it is the computer player's turn.
+     * @return true if a computer player plays the side to move.
+     */
+    private boolean isComputerTurn(){
+        return this.ai && this.computerPlayer != null && toSide(this.playerTurn) == this.computerPlayer.getSide();
+    }
+
+    /**
+     * Choose a random player color.
+     * @return Color chosen at random.
+     */
+    private static Color randomComputerPlayerColor(){
+        Random randomGenerator = new Random(System.currentTimeMillis());
+        int random = randomGenerator.nextInt()%2;   //ensure number is 0 or 1
+        switch(random){
+            case 0:
+                return Color.WHITE;
+            case 1:
+                return Color.BLACK;
+            default:
+                return Color.WHITE; //should never be reached.
+        }
+    }
+
+    public StatusPanel getStatusPanel(){
+        return this.statusPanel;
+    }
+
+    /**
+     * Retrieve a checker piece by its dense id.
+     * @param checkerID dense checker id, 0 - 23.
+     * @return the checker with that id.
+     */
+    public Checker getChecker(int checkerID){
+        return this.pieceRegistry.getPiece(checkerID);
+    }
+
+    /**
+     * Retrieve the bitboard position of this game.
+     * @return position mirroring the pieces on the checker board.
+     */
+    public Position getPosition(){
+        return this.position;
+    }
+
+    /**
+     * Retrieve the checker board where all the squares
+     * and checker pieces lie.
+     * @return the checkerboard for this checker game.
+     */
+    public CheckerBoard getCheckerBoard(){
+        return this.checkerBoard;
+    }
+
+    /**
+     * Create the checker board.
+     * Place the pieces on the checker board.
+     * Set the correct locations and states of all the checkers.
+     */
+    private void generateCheckerBoard(){
+        addSquaresToBoard();
+        setUpCheckerBoard();
+    }
+
+    /**
+     * Create and store the two sets of checker pieces.
+     */
+    private void generateCheckerPieces(){
+        createBlackCheckers();
+        createWhiteCheckers();
+    }
+
+    /**
+     * Create all 12 black checker pieces.
+     * Place the 12 black checker pieces in the pieceRegistry.
+     */
+    private void createBlackCheckers(){
+        List<Checker> blackCheckers = createCheckerSet(Color.BLACK);
+        for(Checker checker: blackCheckers){
+            this.pieceRegistry.register(checker);
+            checker.setCheckerGame(this);
+        }
+    }
+
+    /**
+     * Create all 12 white checker pieces.
+     * Place the 12 white checker pieces in the pieceRegistry.
+     */
+    private void createWhiteCheckers(){
+        List<Checker> whiteCheckers = createCheckerSet(Color.WHITE);
+        for(Checker checker: whiteCheckers){
+            this.pieceRegistry.register(checker);
+            checker.setCheckerGame(this);
+        }
+    }
+
+    /**
+     * Creates a set of 12 checker pieces with a given color.
+     * @param color specifies the color to make the checker pieces.
+     * @return List of the checker pieces of the specified color.
+     */
+    private List<Checker> createCheckerSet(Color color){
+        List<Checker> checkerList = new ArrayList<>();
+        int firstID = PieceRegistry.firstId(toSide(color));
+        for(int i = 0; i < Constants.CHECKER_COUNT; i++){
+            Checker checker = new Checker(color, firstID + i);
+            checker.addChangeListener(this);
+            checkerList.add(i, checker);
+        }
+        return checkerList;
+    }
+
+    /**
+     * Add all the squares to the physical generated board with swing.
+     */
+    private void addSquaresToBoard(){
+        for(int row = 0; row < Constants.CHECKER_ROWS; row++){
+            for(int column = 0; column < Constants.CHECKER_COLUMNS; column++){
+                BoardSquare boardSquare = this.checkerBoard.getCheckerBoard()[row][column];
+                boardSquare.addChangeListener(this);    //listen for square clicks.
+                /*Update the params for the square*/
+                boardSquare.added = true;
+                checkerBoard.addSquareToBoard(boardSquare);
+            }
+        }
+    }
+
+    /**
+     * Algorithm to place the checker pieces in their initial states on the board.
+     * Top-Left is (0,0)
+     * Bottom-Right is (7,7)
+     * * * * * * * * * *
+     * W _ W _ W _ W _ *
+     * _ W _ W _ W _ W *
+     * W _ W _ W _ W _ *
+     * _ _ _ _ _ _ _ _ *
+     * _ _ _ _ _ _ _ _ *
+     * _ B _ B _ B _ B *
+     * B _ B _ B _ B _ *
+     * _ B _ B _ B _ B *
+     * * * * * * * * * *
+     *
+     * 12 pieces of each color placed on a 8 x 8 game board.
+     */
+    private void setUpCheckerBoard(){
+        int whiteCheckerCounter = 0;
+        int blackCheckerCounter = 0;
+        for(int row = 0; row < Constants.CHECKER_ROWS; row++){
+            for(int column = 0; column < Constants.CHECKER_COLUMNS; column++){
+                BoardSquare currentSquare = this.checkerBoard.getCheckerBoard()[row][column];
+                switch(row){
+                    case 0:
+                    case 2:
+                        if(column == 0 || column == 2 || column == 4 || column == 6){
+                            addCheckerToSquare(Color.WHITE, whiteCheckerCounter, currentSquare);
+                            whiteCheckerCounter++;
+                        }
+                        break;
+                    case 1:
+                        if(column == 1 || column == 3 || column == 5 || column == 7){
+                            addCheckerToSquare(Color.WHITE, whiteCheckerCounter, currentSquare);
+                            whiteCheckerCounter++;
+                        }
+                        break;
+                    case 5:
+                    case 7:
+                        if(column == 1 || column == 3 || column == 5 || column == 7){
+                            addCheckerToSquare(Color.BLACK, blackCheckerCounter, currentSquare);
+                            blackCheckerCounter++;
+                        }
+                        break;
+                    case 6:
+                        if(column == 0 || column == 2 || column == 4 || column == 6){
+                            addCheckerToSquare(Color.BLACK, blackCheckerCounter, currentSquare);
+                            blackCheckerCounter++;
+                        }
+                        break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Add a checker to a square.
+     * Set the state of the square.
+     * @param color color of the piece to add to square.
+     * @param id identifier of the checker within its color, 0 - 11.
+     * @param square square to add checker to.
+     */
+    private void addCheckerToSquare(Color color, int id, BoardSquare square){
+        int side = toSide(color);
+        Checker checker = this.pieceRegistry.getPiece(PieceRegistry.firstId(side) + id);
+        checker.setCurrentSquare(square);
+        addCheckerToSquare(square,checker);
+        this.pieceRegistry.place(checker, squareIndex(square));
+        this.position.placePiece(squareIndex(square), side, false);
+    }
+
+    /**
+     * Square index of a board square in the bitboard position.
+     * @param square board square on the checker board.
+     * @return square index 0 - 31, or -1 for a non playable square.
+     */
+    private static int squareIndex(BoardSquare square){
+        return Bitboards.squareIndex(square.getRow(), square.getColumn());
+    }
+
+    /**
+     * Convert a checker color into the side index of the position.
+     * @param color BLACK or WHITE.
+     * @return Position.BLACK or Position.WHITE.
+     */
+    private static int toSide(Color color){
+        return color.equals(Color.BLACK) ? Position.BLACK : Position.WHITE;
+    }
+
+    /**
+     * Move a selected checker from one square to another
+     * if a legal move of that checker lands on the square.
+     * A jump lands on the last square of its capture sequence.
+     * @param newSquare the square that is clicked on and
+     *                  will be the new residence of the checker.
+     */
+    public void moveSelectedChecker(BoardSquare newSquare){
+        if(isComputerTurn()){
+            return;
+        }
+        for(Checker checker : this.pieceRegistry.getPieces()){
+            if(checker.getClickedState().equals(ClickedState.CLICKED)){
+                if(checker.getCheckerColor().equals(this.playerTurn)) {
+                    long move = findLegalMove(squareIndex(checker.getCurrentSquare()), squareIndex(newSquare));
+                    if (move != Moves.NO_MOVE) {
+                        applyMove(move);
+                    }
+                }
+                checker.setClickedState(ClickedState.NOT_CLICKED);  //reset for next turn, atomic operation
+                break;
+            }
+        }
+        /*Reset the game board for the next turn.*/
+        this.checkerBoard.resetBoardSquares();
+        setAllCheckersToNotChecked(null);
+    }
+
+    /**
+     * Change the color of the player whose turn it is,
+     * based on the previous color.
+     */
+    private static Color changePlayerTurn(Color currentColor){
+        switch(currentColor){
+            case WHITE:
+                return Color.BLACK;
+            case BLACK:
+                return Color.WHITE;
+        }
+        /*can never occur as only colors used are BLACK and WHITE*/
+        return Color.WHITE; //return white so null pointer does not happen
+    }
+
+    /**
+     * Generate the legal moves of the player whose turn it is
+     * into the legalMoves buffer.
+     * @return number of legal moves.
+     */
+    private int generateLegalMoves(){
+        return MoveGenerator.generate(this.position, this.legalMoves, 0);
+    }
+
+    /**
+     * Find the legal move of the player whose turn it is
+     * that starts and ends on the given squares.
+     * @param from square index the checker leaves.
+     * @param to square index the checker lands on.
+     * @return packed move, or Moves.NO_MOVE if there is no such move.
+     */
+    private long findLegalMove(int from, int to){
+        if(from < 0 || to < 0){
+            return Moves.NO_MOVE;
+        }
+        int moveCount = generateLegalMoves();
+        for(int i = 0; i < moveCount; i++){
+            long move = this.legalMoves.get(0, i);
+            if(Moves.from(move) == from && Moves.to(move) == to){
+                return move;
+            }
+        }
+        return Moves.NO_MOVE;
+    }
+
+    /**
+     * Determine if a move is legal for the player whose turn it is.
+     * @param move packed move.
+     * @return true if the move, its exact capture sequence included, is legal.
+     */
+    private boolean isLegalMove(long move){
+        generateLegalMoves();
+        return this.legalMoves.contains(0, move);
+    }
+
+    /**
+     * Procedure to apply a complete legal move onto the game board.
+     * The checker is moved to its landing square, every checker
+     * captured along the way is removed and the checker is promoted
+     * at the end of the move if it reaches the far row.
+     * Assume the move is legal in the current position.
+     * @param move packed move of the player whose turn it is.
+     */
+    private void applyMove(long move){
+        BoardSquare[][] board = this.checkerBoard.getCheckerBoard();
+        int from = Moves.from(move);
+        int to = Moves.to(move);
+        Checker checker = this.pieceRegistry.getPieceAt(from);
+        /*Remove every captured checker.*/
+        int captured = Moves.captured(move);
+        while(captured != 0){
+            int square = Integer.numberOfTrailingZeros(captured);
+            captured &= captured - 1;
+            removeJumpedChecker(board[Bitboards.row(square)][Bitboards.column(square)]);
+        }
+        /*Set current square and square occupancy.*/
+        this.pieceRegistry.move(from, to);
+        removeCheckerFromSquare(board[Bitboards.row(from)][Bitboards.column(from)], checker);
+        addCheckerToSquare(board[Bitboards.row(to)][Bitboards.column(to)], checker);
+        /*King promotion at the end of the move.*/
+        if(Moves.isPromotion(move)){
+            checker.promoteToKing();
+            this.pieceRegistry.promote(to);
+        }
+        this.position.makeMove(move);
+        /*A player wins when the opponent has no pieces or no moves left.*/
+        Color winner = isWinner();
+        if(winner == null && generateLegalMoves() == 0){
+            winner = this.playerTurn;
+        }
+        if (winner != null) {
+            this.statusPanel.updateWinnerLabel(Constants.WINNER + winner);
+            /*The game is over, release the computer player's threads.*/
+            if(this.computerPlayer != null){
+                this.computerPlayer.close();
+            }
+            return;
+        }
+        /*Change player turns.*/
+        this.playerTurn = changePlayerTurn(this.playerTurn);
+        this.statusPanel.updateWinnerLabel(Constants.CURRENT_TURN + this.playerTurn);
+        if(this.ai){
+            allowComputerMove();
+        }
+    }
+
+    /**
+     * Allow the computer to make a move.
+     * Assume that AI is turned on.
+     */
+    private void allowComputerMove(){
+        if(isComputerTurn()){
+            Thread computerPlayerMove = new Thread(new ComputerPlayerMove(this,this.computerPlayer,new Position(this.position)));
+            computerPlayerMove.start();
+        }
+    }
+
+    /**
+     * Remove a checker that has been jumped from the board.
+     * This should only be called while applying a move,
+     * before the position has been updated.
+     * @param square the square that contains the checker
+     *               that is to be removed.
+     */
+    private void removeJumpedChecker(BoardSquare square){
+        int index = squareIndex(square);
+        Checker checker = this.pieceRegistry.capture(index, this.position.isKing(index));
+        if(checker != null) {
+            checker.setCaptured();
+            removeCheckerFromSquare(square,checker);
+        }
+    }
+
+    /**
+     * Reset all checkers to not be checked when a checker
+     * is checked. CLICKED and NOT_CLICKED should be atomic.
+     * @param checkedChecker checker that has been checked.
+     */
+    private void setAllCheckersToNotChecked(Checker checkedChecker){
+        for(Checker checker : this.pieceRegistry.getPieces()){
+            if(checkedChecker != null && checker.equals(checkedChecker)){
+                continue;
+            }
+            checker.setClickedState(ClickedState.NOT_CLICKED);
+        }
+    }
+
+    /**
+     * Remove a checker from a specific square.
+     * Set the parameters on the square and checker
+     * before executing the GUI updates. This allows
+     * for the AI or another player to make a move
+     * even if the GUI is not updated.
+     * @param boardSquare Square that is removing a checker.
+     * @param checker Checker to be removed from a square.
+     */
+    private void removeCheckerFromSquare(BoardSquare boardSquare, Checker checker){
+        boardSquare.removeCheckerFromSquare(checker);
+    }
+
+    /**
+     * Add a checker to a specific square.
+     * Set the parameters on the square and checker
+     * before executing the GUI updates. This allows
+     * for the AI or another player to make a move
+     * even if the GUI is not updated.
+     * @param boardSquare Square that is adding a checker.
+     * @param checker Checker to be added to a square.
+     */
+    private void addCheckerToSquare(BoardSquare boardSquare, Checker checker){
+        boardSquare.addCheckerToSquare(checker);
+    }
+
+    /**
+     * Determine if a winner has occurred.
+     * @return Color of winner, or null if no winner has been determined.
+     */
+    private Color isWinner(){
+        int remainingWhite = this.pieceRegistry.getPieceCount(Position.WHITE);
+        int remainingBlack = this.pieceRegistry.getPieceCount(Position.BLACK);
+        /*Update the GUI for new remaining pieces.*/
+        this.statusPanel.updateRemainingPieces(Constants.WHITE_PIECES_REMAIN+remainingWhite
+                +Constants.KINGS_REMAIN+this.pieceRegistry.getKingCount(Position.WHITE)+")",Color.WHITE);
+        this.statusPanel.updateRemainingPieces(Constants.BLACK_PIECES_REMAIN+remainingBlack
+                +Constants.KINGS_REMAIN+this.pieceRegistry.getKingCount(Position.BLACK)+")",Color.BLACK);
+
+        if(remainingBlack == 0){
+            return Color.WHITE;
+        }
+        if(remainingWhite == 0){
+            return Color.BLACK;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,157 @@
+package gameplay;
+
+import checker.Checker;
+import constants.Constants;
+import engine.Position;
+
+/**
+ * Registry of all checker pieces in a game.
+ * Pieces are addressed by a dense id (0 - 23) and by the
+ * square index (0 - 31) they reside on, and the piece and king
+ * counts of each side are updated as moves are applied, so
+ * no lookup needs to scan the pieces.
+ */
+class PieceRegistry {
+
+    /** Total number of pieces, both colors.*/
+    static final int PIECE_COUNT = 2 * Constants.CHECKER_COUNT;
+
+    /** Number of playable squares.*/
+    private static final int SQUARE_COUNT = 32;
+
+    /** Pieces indexed by their dense id.*/
+    private final Checker[] pieces = new Checker[PIECE_COUNT];
+
+    /** Pieces indexed by the square they reside on, null if vacant.*/
+    private final Checker[] squares = new Checker[SQUARE_COUNT];
+
+    /** Pieces remaining on the board, indexed by Position side.*/
+    private final int[] pieceCounts = new int[2];
+
+    /** Kings remaining on the board, indexed by Position side.*/
+    private final int[] kingCounts = new int[2];
+
+    /**
+     * First dense id of the pieces of a side.
+     * White pieces are 0 - 11, black pieces are 12 - 23.
+     * @param side Position.WHITE or Position.BLACK.
+     * @return first id of that side.
+     */
+    static int firstId(int side){
+        return side * Constants.CHECKER_COUNT;
+    }
+
+    /**
+     * Side a dense id belongs to.
+     * @param id dense piece id.
+     * @return Position.WHITE or Position.BLACK.
+     */
+    static int sideOf(int id){
+        return id < Constants.CHECKER_COUNT ? Position.WHITE : Position.BLACK;
+    }
+
+    /**
+     * Register a piece under its dense id.
+     * @param checker piece to register.
+     */
+    void register(Checker checker){
+        this.pieces[checker.getCheckerID()] = checker;
+    }
+
+    /**
+     * Retrieve a piece by its dense id.
+     * @param id dense piece id.
+     * @return the piece with that id.
+     */
+    Checker getPiece(int id){
+        return this.pieces[id];
+    }
+
+    /**
+     * Retrieve all registered pieces, indexed by dense id.
+     * The returned array must not be modified.
+     * @return pieces array.
+     */
+    Checker[] getPieces(){
+        return this.pieces;
+    }
+
+    /**
+     * Retrieve the piece on a square.
+     * @param square square index 0 - 31.
+     * @return the piece on the square, null if the square is vacant.
+     */
+    Checker getPieceAt(int square){
+        return this.squares[square];
+    }
+
+    /**
+     * Place a piece on a vacant square and count it as in play.
+     * @param checker piece to place.
+     * @param square square index 0 - 31.
+     */
+    void place(Checker checker, int square){
+        this.squares[square] = checker;
+        this.pieceCounts[sideOf(checker.getCheckerID())]++;
+    }
+
+    /**
+     * Move the piece on one square to another square.
+     * @param from square the piece leaves.
+     * @param to square the piece lands on.
+     */
+    void move(int from, int to){
+        /*A king can end a capture sequence on its starting square.*/
+        if(from == to){
+            return;
+        }
+        this.squares[to] = this.squares[from];
+        this.squares[from] = null;
+    }
+
+    /**
+     * Remove a captured piece from its square and the counts.
+     * @param square square of the captured piece.
+     * @param king true if the captured piece is a king.
+     * @return the captured piece, null if the square was vacant.
+     */
+    Checker capture(int square, boolean king){
+        Checker checker = this.squares[square];
+        if(checker == null){
+            return null;
+        }
+        int side = sideOf(checker.getCheckerID());
+        this.squares[square] = null;
+        this.pieceCounts[side]--;
+        if(king){
+            this.kingCounts[side]--;
+        }
+        return checker;
+    }
+
+    /**
+     * Count the piece on a square as a new king.
+     * @param square square of the promoted piece.
+     */
+    void promote(int square){
+        this.kingCounts[sideOf(this.squares[square].getCheckerID())]++;
+    }
+
+    /**
+     * Number of pieces of a side still on the board.
+     * @param side Position.WHITE or Position.BLACK.
+     * @return remaining pieces, men and kings.
+     */
+    int getPieceCount(int side){
+        return this.pieceCounts[side];
+    }
+
+    /**
+     * Number of kings of a side still on the board.
+     * @param side Position.WHITE or Position.BLACK.
+     * @return remaining kings.
+     */
+    int getKingCount(int side){
+        return this.kingCounts[side];
+    }
+}
@@ -62,14 +62,14 @@ public class GamePlayChoice extends JFrame{
         gridBagConstraints.gridy++;
         createButtonWithCallback(GamePlay.RANDOM);
 
-//        gridBagConstraints.gridy++;
-//        createButtonWithCallback(GamePlay.EASY);
-//
-//        gridBagConstraints.gridy++;
-//        createButtonWithCallback(GamePlay.MEDIUM);
-//
-//        gridBagConstraints.gridy++;
-//        createButtonWithCallback(GamePlay.HARD);
+        gridBagConstraints.gridy++;
+        createButtonWithCallback(GamePlay.EASY);
+
+        gridBagConstraints.gridy++;
+        createButtonWithCallback(GamePlay.MEDIUM);
+
+        gridBagConstraints.gridy++;
+        createButtonWithCallback(GamePlay.HARD);
         this.setVisible(true);
     }
 
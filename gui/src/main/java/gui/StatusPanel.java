@@ -12,12 +12,14 @@ public class StatusPanel extends JPanel {
     public JLabel winnerLabel;
     public JLabel whitePiecesRemainLabel;
     public JLabel blackPiecesRemainLabel;
+    public JLabel expectedLineLabel;
 
     public StatusPanel(){
         JLabel statusPanelLabel = new JLabel(Constants.STATUS_PANEL);
         this.winnerLabel = new JLabel(Constants.CURRENT_TURN);
-        this.whitePiecesRemainLabel = new JLabel(Constants.WHITE_PIECES_REMAIN+Constants.CHECKER_COUNT);
-        this.blackPiecesRemainLabel = new JLabel(Constants.BLACK_PIECES_REMAIN+Constants.CHECKER_COUNT);
+        this.whitePiecesRemainLabel = new JLabel(Constants.WHITE_PIECES_REMAIN+Constants.CHECKER_COUNT+Constants.KINGS_REMAIN+0+")");
+        this.blackPiecesRemainLabel = new JLabel(Constants.BLACK_PIECES_REMAIN+Constants.CHECKER_COUNT+Constants.KINGS_REMAIN+0+")");
+        this.expectedLineLabel = new JLabel(Constants.EXPECTED_LINE);
         this.setLayout(new GridBagLayout());
         GridBagConstraints statusConstraints = new GridBagConstraints();
         statusConstraints.gridx = 0;
@@ -29,6 +31,8 @@ public class StatusPanel extends JPanel {
         this.add(this.whitePiecesRemainLabel,statusConstraints);
         statusConstraints.gridy++;
         this.add(this.blackPiecesRemainLabel,statusConstraints);
+        statusConstraints.gridy++;
+        this.add(this.expectedLineLabel,statusConstraints);
     }
 
 
@@ -54,6 +58,28 @@ public class StatusPanel extends JPanel {
         }
     }
 
+    public void updateExpectedLine(String lineText){
+        SwingUtilities.invokeLater(new UpdateExpectedLine(this,lineText));
+    }
+
+    private static class UpdateExpectedLine implements Runnable{
+        private WeakReference<StatusPanel> wStatusPanel;
+        private String lineText;
+
+        UpdateExpectedLine(StatusPanel statusPanel, String lineText){
+            this.wStatusPanel = new WeakReference<>(statusPanel);
+            this.lineText = lineText;
+        }
+        @Override
+        public void run() {
+            StatusPanel statusPanel = this.wStatusPanel.get();
+            if(statusPanel == null){
+                return;
+            }
+            statusPanel.expectedLineLabel.setText(this.lineText);
+        }
+    }
+
     public void updateRemainingPieces(String text, checker.Color piece){
         SwingUtilities.invokeLater(new UpdateRemainingPieces(this,text,piece));
     }
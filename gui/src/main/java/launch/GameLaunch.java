@@ -0,0 +1,42 @@
+package launch;
+
+import gameplay.CheckerGame;
+import gui.GamePlayChoice;
+import gui.MainFrame;
+import gui.StatusPanel;
+import search.Bench;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Game launcher for checker game.
+ * Launched with "bench [depth]" it runs the search benchmark instead.
+ */
+public class GameLaunch {
+
+    /** Argument running the search benchmark.*/
+    private static final String BENCH = "bench";
+
+    public static void main(String[] args) {
+        if(args.length > 0 && BENCH.equals(args[0])){
+            Bench bench = new Bench(args.length > 1 ? Integer.parseInt(args[1]) : Bench.DEFAULT_DEPTH);
+            bench.run();
+            bench.print();
+            return;
+        }
+        AtomicBoolean gamePlayChoiceComplete = new AtomicBoolean(false);
+        GamePlayChoice gamePlayChoice = new GamePlayChoice(gamePlayChoiceComplete);
+
+        while(!gamePlayChoiceComplete.get()){
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+            }
+        }
+
+        CheckerGame checkerGame = new CheckerGame(new StatusPanel(), gamePlayChoice.gamePlay);
+        MainFrame mainFrame = new MainFrame(checkerGame);
+        mainFrame.setVisible(true);
+    }
+}